@@ -0,0 +1,205 @@
+package org.roc.flink.support.properties.benchmark;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+/**
+ * Measures {@link Binder#bind} for nested beans, maps and lists. Every bind target lives
+ * next to {@code keys} unrelated properties so that source size effects show up.
+ *
+ * @author roc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinderBenchmark {
+
+    private static final Bindable<Map<String, String>> STRING_MAP = Bindable
+            .mapOf(String.class, String.class);
+
+    private static final Bindable<List<String>> STRING_LIST = Bindable.listOf(String.class);
+
+    @Param({"100", "10000", "100000"})
+    private int keys;
+
+    @Param({"100", "1000"})
+    private int elements;
+
+    private Binder binder;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Map<String, Object> source = new LinkedHashMap<>(ConfigTreeGenerator.properties(this.keys, "flink"));
+        source.put("job.name", "benchmark");
+        source.put("job.parallelism", "8");
+        source.put("job.checkpoint.interval", "60s");
+        source.put("job.checkpoint.mode", "exactly-once");
+        source.put("job.sink.topic", "output");
+        source.put("job.sink.properties.acks", "all");
+        for (int i = 0; i < this.elements; i++) {
+            source.put("job.routes." + "route" + i, "topic-" + i);
+            source.put("job.partitions[" + i + "]", "partition-" + i);
+        }
+        this.binder = new Binder(new MapConfigurationPropertySource(source));
+    }
+
+    @Benchmark
+    public Job bindNestedBean() {
+        return this.binder.bind("job", Job.class).get();
+    }
+
+    @Benchmark
+    public Map<String, String> bindMap() {
+        return this.binder.bind("job.routes", STRING_MAP).get();
+    }
+
+    @Benchmark
+    public List<String> bindList() {
+        return this.binder.bind("job.partitions", STRING_LIST).get();
+    }
+
+    /**
+     * Nested bean bound by {@link #bindNestedBean()}.
+     */
+    public static class Job {
+
+        private String name;
+
+        private int parallelism;
+
+        private final Checkpoint checkpoint = new Checkpoint();
+
+        private final Sink sink = new Sink();
+
+        private Map<String, String> routes = new LinkedHashMap<>();
+
+        private List<String> partitions = new ArrayList<>();
+
+        public String getName() {
+            return this.name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getParallelism() {
+            return this.parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public Checkpoint getCheckpoint() {
+            return this.checkpoint;
+        }
+
+        public Sink getSink() {
+            return this.sink;
+        }
+
+        public Map<String, String> getRoutes() {
+            return this.routes;
+        }
+
+        public void setRoutes(Map<String, String> routes) {
+            this.routes = routes;
+        }
+
+        public List<String> getPartitions() {
+            return this.partitions;
+        }
+
+        public void setPartitions(List<String> partitions) {
+            this.partitions = partitions;
+        }
+
+    }
+
+    /**
+     * Nested checkpoint settings.
+     */
+    public static class Checkpoint {
+
+        private Duration interval;
+
+        private CheckpointMode mode;
+
+        public Duration getInterval() {
+            return this.interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        public CheckpointMode getMode() {
+            return this.mode;
+        }
+
+        public void setMode(CheckpointMode mode) {
+            this.mode = mode;
+        }
+
+    }
+
+    /**
+     * Checkpointing modes.
+     */
+    public enum CheckpointMode {
+
+        EXACTLY_ONCE, AT_LEAST_ONCE
+
+    }
+
+    /**
+     * Nested sink settings.
+     */
+    public static class Sink {
+
+        private String topic;
+
+        private Map<String, String> properties = new LinkedHashMap<>();
+
+        public String getTopic() {
+            return this.topic;
+        }
+
+        public void setTopic(String topic) {
+            this.topic = topic;
+        }
+
+        public Map<String, String> getProperties() {
+            return this.properties;
+        }
+
+        public void setProperties(Map<String, String> properties) {
+            this.properties = properties;
+        }
+
+    }
+
+}
@@ -0,0 +1,181 @@
+package org.roc.flink.support.properties.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Generates deterministic synthetic configuration trees for the benchmarks. Keys follow the
+ * shape of real Flink job configuration ({@code flink.section3.group42.key12345}) so that
+ * names share long prefixes, and can be written as {@code .properties}, YAML or JSON.
+ *
+ * @author roc
+ */
+public final class ConfigTreeGenerator {
+
+    private static final int KEYS_PER_GROUP = 10;
+
+    private static final int GROUPS_PER_SECTION = 100;
+
+    private ConfigTreeGenerator() {
+    }
+
+    /**
+     * Generate a flat, ordered map of {@code keys} synthetic properties.
+     *
+     * @param keys the number of keys to generate
+     * @param prefix the root element of every key
+     * @return the generated properties
+     */
+    public static Map<String, String> properties(int keys, String prefix) {
+        Map<String, String> properties = new LinkedHashMap<>(keys * 4 / 3 + 1);
+        for (int i = 0; i < keys; i++) {
+            properties.put(key(prefix, i), value(i));
+        }
+        return properties;
+    }
+
+    /**
+     * Return the key generated for the given ordinal.
+     *
+     * @param prefix the root element of every key
+     * @param ordinal the key ordinal
+     * @return the key
+     */
+    public static String key(String prefix, int ordinal) {
+        int group = ordinal / KEYS_PER_GROUP;
+        return prefix + ".section" + (group / GROUPS_PER_SECTION) + ".group"
+                + (group % GROUPS_PER_SECTION) + ".key" + ordinal;
+    }
+
+    private static String value(int ordinal) {
+        switch (ordinal % 4) {
+            case 0:
+                return Integer.toString(ordinal);
+            case 1:
+                return "value-" + ordinal;
+            case 2:
+                return (ordinal % 8 == 2) ? "true" : "false";
+            default:
+                return "kafka-" + (ordinal % 16) + ".example.com:9092";
+        }
+    }
+
+    /**
+     * Write the properties as a {@code .properties} file.
+     *
+     * @param properties the properties to write
+     * @param file the destination file
+     */
+    public static void writeProperties(Map<String, String> properties, Path file) {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.ISO_8859_1)) {
+            for (Map.Entry<String, String> entry : properties.entrySet()) {
+                writer.write(entry.getKey());
+                writer.write('=');
+                writer.write(entry.getValue());
+                writer.write('\n');
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Write the properties as a nested YAML file. Each entry of {@code documents} becomes a
+     * separate YAML document; a non-{@code null} key is used as its {@code spring.profiles}
+     * value.
+     *
+     * @param documents the documents to write, keyed by profile
+     * @param file the destination file
+     */
+    public static void writeYaml(Map<String, Map<String, String>> documents, Path file) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            boolean first = true;
+            for (Map.Entry<String, Map<String, String>> document : documents.entrySet()) {
+                if (!first) {
+                    writer.write("---\n");
+                }
+                first = false;
+                if (document.getKey() != null) {
+                    writer.write("spring:\n  profiles: " + document.getKey() + "\n");
+                }
+                writeYamlTree(writer, nest(document.getValue()), 0);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Render the properties as a nested JSON object.
+     *
+     * @param properties the properties to render
+     * @return the JSON text
+     */
+    public static String json(Map<String, String> properties) {
+        StringBuilder json = new StringBuilder(properties.size() * 32);
+        appendJson(json, nest(properties));
+        return json.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> nest(Map<String, String> properties) {
+        Map<String, Object> root = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            String[] elements = entry.getKey().split("\\.");
+            Map<String, Object> node = root;
+            for (int i = 0; i < elements.length - 1; i++) {
+                node = (Map<String, Object>) node.computeIfAbsent(elements[i],
+                        (key) -> new LinkedHashMap<String, Object>());
+            }
+            node.put(elements[elements.length - 1], entry.getValue());
+        }
+        return root;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeYamlTree(BufferedWriter writer, Map<String, Object> node, int depth)
+            throws IOException {
+        for (Map.Entry<String, Object> entry : node.entrySet()) {
+            for (int i = 0; i < depth; i++) {
+                writer.write("  ");
+            }
+            writer.write(entry.getKey());
+            writer.write(':');
+            if (entry.getValue() instanceof Map) {
+                writer.write('\n');
+                writeYamlTree(writer, (Map<String, Object>) entry.getValue(), depth + 1);
+            } else {
+                writer.write(' ');
+                writer.write(entry.getValue().toString());
+                writer.write('\n');
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void appendJson(StringBuilder json, Map<String, Object> node) {
+        json.append('{');
+        boolean first = true;
+        for (Map.Entry<String, Object> entry : node.entrySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append('"').append(entry.getKey()).append("\":");
+            if (entry.getValue() instanceof Map) {
+                appendJson(json, (Map<String, Object>) entry.getValue());
+            } else {
+                json.append('"').append(entry.getValue()).append('"');
+            }
+        }
+        json.append('}');
+    }
+
+}
@@ -0,0 +1,146 @@
+package org.roc.flink.support.properties.benchmark;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.roc.flink.support.properties.benchmark.BinderBenchmark.CheckpointMode;
+import org.roc.flink.support.properties.benchmark.BinderBenchmark.Job;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+/**
+ * Measures {@link Binder#bind} of the nested {@link Job} bean from a handful of scalar
+ * properties, so that the per-type cost of binding Java Beans dominates. The same bean is
+ * bound with reflection and, as {@link GeneratedJob}, with the binder generated by the
+ * {@code load-properties-processor} annotation processor.
+ *
+ * @author roc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JavaBeanBinderBenchmark {
+
+    private Binder binder;
+
+    @Setup
+    public void setup() {
+        Map<String, Object> source = new LinkedHashMap<>();
+        source.put("job.name", "benchmark");
+        source.put("job.parallelism", "8");
+        source.put("job.checkpoint.interval", "60s");
+        source.put("job.checkpoint.mode", "exactly-once");
+        source.put("job.sink.topic", "output");
+        this.binder = new Binder(new MapConfigurationPropertySource(source));
+    }
+
+    @Benchmark
+    public Job bindNestedBean() {
+        return this.binder.bind("job", Job.class).get();
+    }
+
+    @Benchmark
+    public GeneratedJob bindGeneratedBean() {
+        return this.binder.bind("job", GeneratedJob.class).get();
+    }
+
+    /**
+     * Copy of the scalar properties of {@link Job}, bound with a generated binder.
+     */
+    @ConfigurationProperties("job")
+    public static class GeneratedJob {
+
+        private String name;
+
+        private int parallelism;
+
+        private final GeneratedCheckpoint checkpoint = new GeneratedCheckpoint();
+
+        private final GeneratedSink sink = new GeneratedSink();
+
+        public String getName() {
+            return this.name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getParallelism() {
+            return this.parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public GeneratedCheckpoint getCheckpoint() {
+            return this.checkpoint;
+        }
+
+        public GeneratedSink getSink() {
+            return this.sink;
+        }
+
+    }
+
+    /**
+     * Nested checkpoint settings of {@link GeneratedJob}.
+     */
+    public static class GeneratedCheckpoint {
+
+        private Duration interval;
+
+        private CheckpointMode mode;
+
+        public Duration getInterval() {
+            return this.interval;
+        }
+
+        public void setInterval(Duration interval) {
+            this.interval = interval;
+        }
+
+        public CheckpointMode getMode() {
+            return this.mode;
+        }
+
+        public void setMode(CheckpointMode mode) {
+            this.mode = mode;
+        }
+
+    }
+
+    /**
+     * Nested sink settings of {@link GeneratedJob}.
+     */
+    public static class GeneratedSink {
+
+        private String topic;
+
+        public String getTopic() {
+            return this.topic;
+        }
+
+        public void setTopic(String topic) {
+            this.topic = topic;
+        }
+
+    }
+
+}
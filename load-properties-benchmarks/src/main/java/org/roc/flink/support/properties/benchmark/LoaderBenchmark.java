@@ -0,0 +1,103 @@
+package org.roc.flink.support.properties.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.roc.flink.support.properties.InterningScope;
+import org.roc.flink.support.properties.Loader;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Measures {@link Loader#load()} over a synthetic {@code config/} directory containing a
+ * multi-document {@code application.yml} with one section per profile, plus a
+ * profile-specific {@code .properties} file for every profile, both serially and with
+ * parallel parsing, with the process-wide document cache enabled and with loaded
+ * documents deduplicated by a per-load string interner.
+ *
+ * @author roc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LoaderBenchmark {
+
+    @Param({"100", "10000", "100000", "1000000"})
+    private int keys;
+
+    @Param({"1", "4"})
+    private int profiles;
+
+    @Param({"0", "4"})
+    private int parallelLoadThreads;
+
+    @Param({"0", "16"})
+    private int documentCacheSize;
+
+    @Param({"NONE", "LOAD"})
+    private InterningScope interningScope;
+
+    private Path configDirectory;
+
+    private String[] activeProfiles;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.configDirectory = Files.createTempDirectory("loader-benchmark");
+        Map<String, Map<String, String>> documents = new LinkedHashMap<>();
+        documents.put(null, ConfigTreeGenerator.properties(this.keys, "flink"));
+        this.activeProfiles = new String[this.profiles];
+        for (int i = 0; i < this.profiles; i++) {
+            String profile = "profile" + i;
+            this.activeProfiles[i] = profile;
+            int overrides = Math.max(1, this.keys / 10);
+            documents.put(profile, ConfigTreeGenerator.properties(overrides, "flink"));
+            ConfigTreeGenerator.writeProperties(ConfigTreeGenerator.properties(overrides, profile),
+                    this.configDirectory.resolve("application-" + profile + ".properties"));
+        }
+        ConfigTreeGenerator.writeYaml(documents, this.configDirectory.resolve("application.yml"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(this.configDirectory);
+        Loader.clearDocumentCache();
+    }
+
+    @Benchmark
+    public StandardEnvironment load() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark",
+                Collections.singletonMap(Loader.CONFIG_LOCATION_PROPERTY,
+                        this.configDirectory.toUri().toString())));
+        environment.setActiveProfiles(this.activeProfiles);
+        Loader loader = new Loader(environment, null);
+        loader.setParallelLoadThreads(this.parallelLoadThreads);
+        loader.setDocumentCacheSize(this.documentCacheSize);
+        loader.setInterningScope(this.interningScope);
+        loader.load();
+        return environment;
+    }
+
+}
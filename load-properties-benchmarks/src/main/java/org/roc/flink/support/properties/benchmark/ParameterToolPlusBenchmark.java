@@ -0,0 +1,92 @@
+package org.roc.flink.support.properties.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.roc.flink.support.properties.Loader;
+import org.roc.flink.support.properties.ParameterToolPlus;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Compares {@link ParameterToolPlus#getProperty(String)} on the live environment with the
+ * {@link ParameterToolPlus#freeze() frozen} snapshot.
+ *
+ * @author roc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParameterToolPlusBenchmark {
+
+    @Param({"100", "10000"})
+    private int keys;
+
+    private Path configDirectory;
+
+    private ParameterToolPlus live;
+
+    private ParameterToolPlus frozen;
+
+    private String hitKey;
+
+    private String placeholderKey;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.configDirectory = Files.createTempDirectory("parameter-tool-plus");
+        Map<String, String> properties = ConfigTreeGenerator.properties(this.keys, "flink");
+        properties.put("flink.placeholder", "${" + ConfigTreeGenerator.key("flink", 0) + "}-suffix");
+        ConfigTreeGenerator.writeProperties(properties,
+                this.configDirectory.resolve("application.properties"));
+        System.setProperty(Loader.CONFIG_LOCATION_PROPERTY, this.configDirectory.toUri().toString());
+        this.live = ParameterToolPlus.loadProperties(new String[0]);
+        this.frozen = ParameterToolPlus.loadProperties(new String[0]).freeze();
+        this.hitKey = ConfigTreeGenerator.key("flink", this.keys / 2);
+        this.placeholderKey = "flink.placeholder";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.clearProperty(Loader.CONFIG_LOCATION_PROPERTY);
+        FileSystemUtils.deleteRecursively(this.configDirectory);
+    }
+
+    @Benchmark
+    public String liveHit() {
+        return this.live.getProperty(this.hitKey);
+    }
+
+    @Benchmark
+    public String frozenHit() {
+        return this.frozen.getProperty(this.hitKey);
+    }
+
+    @Benchmark
+    public String livePlaceholder() {
+        return this.live.getProperty(this.placeholderKey);
+    }
+
+    @Benchmark
+    public String frozenPlaceholder() {
+        return this.frozen.getProperty(this.placeholderKey);
+    }
+
+}
@@ -0,0 +1,62 @@
+package org.roc.flink.support.properties.benchmark;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.roc.flink.support.properties.benchmark.BinderBenchmark.CheckpointMode;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+/**
+ * Measures {@link Binder#bind} of single {@code int}, {@link Duration} and enum values from
+ * strings, so that the cost of converting the value dominates. The enum value uses the
+ * lenient dashed form, which is not an exact constant name.
+ *
+ * @author roc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScalarBindingBenchmark {
+
+    private Binder binder;
+
+    @Setup
+    public void setup() {
+        Map<String, Object> source = new LinkedHashMap<>();
+        source.put("job.parallelism", "8");
+        source.put("job.checkpoint.interval", "60s");
+        source.put("job.checkpoint.mode", "exactly-once");
+        this.binder = new Binder(new MapConfigurationPropertySource(source));
+    }
+
+    @Benchmark
+    public int bindInt() {
+        return this.binder.bind("job.parallelism", int.class).get();
+    }
+
+    @Benchmark
+    public Duration bindDuration() {
+        return this.binder.bind("job.checkpoint.interval", Duration.class).get();
+    }
+
+    @Benchmark
+    public CheckpointMode bindEnum() {
+        return this.binder.bind("job.checkpoint.mode", CheckpointMode.class).get();
+    }
+
+}
@@ -0,0 +1,101 @@
+package org.springframework.boot.context.properties.source;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing of {@link ConfigurationPropertyName}s through {@link
+ * ConfigurationPropertyName#of(CharSequence)} and the package-private {@code adapt} used by
+ * the property mappers, with and without the {@link ConfigurationPropertyNameCache}. Lives in the {@code source} package so that {@code adapt} is
+ * reachable.
+ *
+ * @author roc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigurationPropertyNameBenchmark {
+
+    @Param({"flink.sink.kafka.producer.bootstrap-servers", "flink.routes[orders].partitions[12].topic"})
+    private String name;
+
+    private String environmentName;
+
+    private String relaxedName;
+
+    private ConfigurationPropertyName parent;
+
+    private ConfigurationPropertyName child;
+
+    @Setup
+    public void setup() {
+        this.environmentName = this.name.replace('.', '_').replace('-', '_')
+                .replace("[", "_").replace("]", "").toUpperCase();
+        this.relaxedName = this.name.replace("bootstrap-servers", "bootstrapServers");
+        this.parent = ConfigurationPropertyName.of(this.name);
+        this.child = this.parent.append("name");
+    }
+
+    @Benchmark
+    public ConfigurationPropertyName of() {
+        return ConfigurationPropertyName.of(this.name);
+    }
+
+    @Benchmark
+    public ConfigurationPropertyName cachedOf() {
+        return ConfigurationPropertyNameCache.shared().of(this.name);
+    }
+
+    @Benchmark
+    public ConfigurationPropertyName cachedAppend() {
+        return ConfigurationPropertyNameCache.shared().append(this.parent, "name");
+    }
+
+    @Benchmark
+    public ConfigurationPropertyName append() {
+        return this.parent.append("name");
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return ConfigurationPropertyName.isValid(this.name);
+    }
+
+    @Benchmark
+    public ConfigurationPropertyName adapt() {
+        return ConfigurationPropertyName.adapt(this.relaxedName, '.');
+    }
+
+    @Benchmark
+    public PropertyMapping[] mapSystemEnvironmentName() {
+        return SystemEnvironmentPropertyMapper.INSTANCE.map(this.environmentName);
+    }
+
+    @Benchmark
+    public int mapAlternatingNames() {
+        PropertyMapping[] first = DefaultPropertyMapper.INSTANCE.map(this.parent);
+        PropertyMapping[] second = DefaultPropertyMapper.INSTANCE.map(this.child);
+        return first.length + second.length;
+    }
+
+    @Benchmark
+    public int ofEqualsHashCode() {
+        ConfigurationPropertyName first = ConfigurationPropertyName.of(this.name);
+        ConfigurationPropertyName second = ConfigurationPropertyName.of(this.name);
+        return first.equals(second) ? first.hashCode() : 0;
+    }
+
+}
@@ -0,0 +1,83 @@
+package org.springframework.boot.context.properties.source;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.context.properties.bind.PropertySourcesPlaceholdersResolver;
+import org.springframework.boot.env.OriginTrackedMapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * Measures lookups that walk every property source of an environment: the system
+ * properties and environment followed by eight immutable documents of 200 properties,
+ * for a name defined in the last document and one that is not defined anywhere.
+ *
+ * @author roc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertySourcesLookupBenchmark {
+
+    private static final int DOCUMENTS = 8;
+
+    private static final int PROPERTIES = 200;
+
+    private static final String PRESENT = "document7.flink.job.property199";
+
+    private static final String ABSENT = "flink.sink.kafka.producer.bootstrap-servers";
+
+    private StandardEnvironment environment;
+
+    private PropertySourcesPlaceholdersResolver resolver;
+
+    @Setup
+    public void setup() {
+        this.environment = new StandardEnvironment();
+        for (int document = 0; document < DOCUMENTS; document++) {
+            Map<String, Object> properties = new LinkedHashMap<>();
+            for (int property = 0; property < PROPERTIES; property++) {
+                properties.put("document" + document + ".flink.job.property" + property,
+                        "value" + property);
+            }
+            this.environment.getPropertySources().addLast(
+                    new OriginTrackedMapPropertySource("document" + document, properties, true));
+        }
+        ConfigurationPropertySources.attach(this.environment);
+        this.resolver = new PropertySourcesPlaceholdersResolver(this.environment);
+    }
+
+    @Benchmark
+    public Object propertyPresent() {
+        return this.environment.getProperty(PRESENT);
+    }
+
+    @Benchmark
+    public Object propertyAbsent() {
+        return this.environment.getProperty(ABSENT);
+    }
+
+    @Benchmark
+    public Object placeholderPresent() {
+        return this.resolver.resolvePlaceholders("${" + PRESENT + "}");
+    }
+
+    @Benchmark
+    public Object placeholderAbsent() {
+        return this.resolver.resolvePlaceholders("${" + ABSENT + ":none}");
+    }
+
+}
@@ -0,0 +1,57 @@
+package org.springframework.boot.context.properties.source;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.env.SystemEnvironmentPropertySource;
+
+/**
+ * Measures relaxed lookups against the {@code systemEnvironment} property source of the
+ * running JVM, for a name that is set ({@code PATH}) and one that is not.
+ *
+ * @author roc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SystemEnvironmentLookupBenchmark {
+
+    private static final ConfigurationPropertyName PRESENT = ConfigurationPropertyName.of("path");
+
+    private static final ConfigurationPropertyName ABSENT = ConfigurationPropertyName
+            .of("flink.sink.kafka.producer.bootstrap-servers");
+
+    private ConfigurationPropertySource source;
+
+    @Setup
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setup() {
+        this.source = SpringConfigurationPropertySource.from(new SystemEnvironmentPropertySource(
+                StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME,
+                (Map) System.getenv()));
+    }
+
+    @Benchmark
+    public ConfigurationProperty present() {
+        return this.source.getConfigurationProperty(PRESENT);
+    }
+
+    @Benchmark
+    public ConfigurationProperty absent() {
+        return this.source.getConfigurationProperty(ABSENT);
+    }
+
+}
@@ -0,0 +1,99 @@
+package org.springframework.boot.env;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.roc.flink.support.properties.benchmark.ConfigTreeGenerator;
+import org.springframework.boot.json.BasicJsonParser;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Measures the raw configuration file parsers: {@link OriginTrackedPropertiesLoader},
+ * {@link OriginTrackedYamlLoader}, {@link OriginTrackedYamlEventLoader} and
+ * {@link BasicJsonParser}. Lives in the {@code env}
+ * package so that the package-private loaders are reachable.
+ *
+ * @author roc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ConfigurationParserBenchmark {
+
+    @Param({"1000", "100000"})
+    private int keys;
+
+    private Path directory;
+
+    private Resource properties;
+
+    private Resource yaml;
+
+    private String json;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Map<String, String> generated = ConfigTreeGenerator.properties(this.keys, "flink");
+        this.directory = Files.createTempDirectory("parser-benchmark");
+        Path propertiesFile = this.directory.resolve("application.properties");
+        ConfigTreeGenerator.writeProperties(generated, propertiesFile);
+        Path yamlFile = this.directory.resolve("application.yml");
+        ConfigTreeGenerator.writeYaml(Collections.singletonMap(null, generated), yamlFile);
+        this.properties = new FileSystemResource(propertiesFile.toFile());
+        this.yaml = new FileSystemResource(yamlFile.toFile());
+        this.json = ConfigTreeGenerator.json(generated);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(this.directory);
+    }
+
+    @Benchmark
+    public Map<String, Object> properties() throws IOException {
+        return new OriginTrackedPropertiesLoader(this.properties).load();
+    }
+
+    @Benchmark
+    public Map<String, Object> propertiesWithoutOrigins() throws IOException {
+        return new OriginTrackedPropertiesLoader(this.properties, false).load();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> yaml() {
+        return new OriginTrackedYamlLoader(this.yaml).load();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> yamlEvents() throws IOException {
+        return new OriginTrackedYamlEventLoader(this.yaml).load();
+    }
+
+    @Benchmark
+    public Map<String, Object> json() {
+        return new BasicJsonParser().parseMap(this.json);
+    }
+
+}
@@ -0,0 +1,526 @@
+package org.roc.flink.support.properties.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.JavaFileObject;
+
+/**
+ * Annotation processor generating a {@code GeneratedBeanBinder} for each
+ * {@code @ConfigurationProperties} class, and for the nested property types of those classes
+ * compiled along with them. The generated binders create the bean and read and write its
+ * properties with direct calls, so that the {@code Binder} does not need to introspect the
+ * class or invoke its accessors with reflection.
+ * <p>
+ * Properties are discovered with the same rules as the reflective {@code JavaBeanBinder}.
+ * Classes for which those rules cannot be reproduced exactly at compile time (generic
+ * classes, bridge methods, ambiguous accessors, inaccessible types or constructors, ...)
+ * are skipped with a note and keep being bound with reflection.
+ *
+ * @author roc
+ */
+@SupportedAnnotationTypes(PropertiesBinderProcessor.CONFIGURATION_PROPERTIES)
+public class PropertiesBinderProcessor extends AbstractProcessor {
+
+    static final String CONFIGURATION_PROPERTIES =
+            "org.springframework.boot.context.properties.ConfigurationProperties";
+
+    private static final String GENERATED_BEAN_BINDER =
+            "org.springframework.boot.context.properties.bind.GeneratedBeanBinder";
+
+    private static final String BINDABLE = "org.springframework.boot.context.properties.bind.Bindable";
+
+    private static final String RESOLVABLE_TYPE = "org.springframework.core.ResolvableType";
+
+    private static final String SUFFIX = "_PropertiesBinder";
+
+    private final Set<String> processed = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (annotations.isEmpty()
+                || this.processingEnv.getElementUtils().getTypeElement(GENERATED_BEAN_BINDER) == null) {
+            return false;
+        }
+        Set<Element> rootElements = new HashSet<>(roundEnv.getRootElements());
+        Deque<TypeElement> types = new ArrayDeque<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.CLASS) {
+                    types.add((TypeElement) element);
+                }
+            }
+        }
+        while (!types.isEmpty()) {
+            TypeElement type = types.poll();
+            if (!this.processed.add(type.getQualifiedName().toString())) {
+                continue;
+            }
+            try {
+                List<Property> properties = getProperties(type);
+                write(type, properties);
+                for (Property property : properties) {
+                    addNestedTypes(property.type, rootElements, types);
+                }
+            } catch (Ineligible ex) {
+                this.processingEnv.getMessager().printMessage(Kind.NOTE,
+                        "No binder generated, " + type + " is bound with reflection: " + ex.getMessage(),
+                        type);
+            }
+        }
+        return false;
+    }
+
+    private void addNestedTypes(TypeMirror type, Set<Element> rootElements, Deque<TypeElement> types) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            addNestedTypes(((ArrayType) type).getComponentType(), rootElements, types);
+        } else if (type.getKind() == TypeKind.DECLARED) {
+            DeclaredType declaredType = (DeclaredType) type;
+            TypeElement element = (TypeElement) declaredType.asElement();
+            if (element.getKind() == ElementKind.CLASS && rootElements.contains(getOutermost(element))) {
+                types.add(element);
+            }
+            for (TypeMirror typeArgument : declaredType.getTypeArguments()) {
+                addNestedTypes(typeArgument, rootElements, types);
+            }
+        }
+    }
+
+    private static Element getOutermost(Element element) {
+        Element outermost = element;
+        while (outermost.getEnclosingElement() != null
+                && outermost.getEnclosingElement().getKind() != ElementKind.PACKAGE) {
+            outermost = outermost.getEnclosingElement();
+        }
+        return outermost;
+    }
+
+    // Bean introspection, mirroring JavaBeanBinder
+
+    private List<Property> getProperties(TypeElement type) throws Ineligible {
+        checkInstantiable(type);
+        DeclaredType beanType = (DeclaredType) type.asType();
+        Map<String, Property> properties = new LinkedHashMap<>();
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+            Set<String> getters = new HashSet<>();
+            Set<String> setters = new HashSet<>();
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (!isCandidate(method)) {
+                    continue;
+                }
+                String name = method.getSimpleName().toString();
+                int parameters = method.getParameters().size();
+                if ((isPrefixed(name, "get") || isPrefixed(name, "is")) && parameters == 0) {
+                    String propertyName = decapitalize(name.substring(name.startsWith("is") ? 2 : 3));
+                    checkAccessor(beanType, current, method, getters.add(propertyName), "getters");
+                    Property property = properties.computeIfAbsent(propertyName, Property::new);
+                    if (property.getter == null) {
+                        property.getter = method;
+                    }
+                } else if (isPrefixed(name, "set") && parameters == 1) {
+                    String propertyName = decapitalize(name.substring(3));
+                    checkAccessor(beanType, current, method, setters.add(propertyName), "setters");
+                    Property property = properties.computeIfAbsent(propertyName, Property::new);
+                    if (property.setter == null) {
+                        property.setter = method;
+                    }
+                }
+            }
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                Property property = properties.get(field.getSimpleName().toString());
+                if (property != null && property.field == null) {
+                    property.field = field;
+                }
+            }
+            current = getSuperclass(current);
+        }
+        List<Property> result = new ArrayList<>(properties.values());
+        for (Property property : result) {
+            resolveType(beanType, type, property);
+        }
+        return result;
+    }
+
+    private void checkInstantiable(TypeElement type) throws Ineligible {
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new Ineligible("abstract class");
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            throw new Ineligible("generic class");
+        }
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL
+                && type.getNestingKind() != NestingKind.MEMBER) {
+            throw new Ineligible("local or anonymous class");
+        }
+        for (Element element = type; element.getKind() != ElementKind.PACKAGE;
+                element = element.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new Ineligible("private class");
+            }
+            if (element.getEnclosingElement().getKind() != ElementKind.PACKAGE
+                    && !element.getModifiers().contains(Modifier.STATIC)) {
+                throw new Ineligible("inner class");
+            }
+        }
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty()) {
+                if (constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                    throw new Ineligible("private no-arg constructor");
+                }
+                return;
+            }
+        }
+        throw new Ineligible("no no-arg constructor");
+    }
+
+    private static boolean isCandidate(ExecutableElement method) {
+        Set<Modifier> modifiers = method.getModifiers();
+        return modifiers.contains(Modifier.PUBLIC) && !modifiers.contains(Modifier.ABSTRACT)
+                && !modifiers.contains(Modifier.STATIC);
+    }
+
+    private static boolean isPrefixed(String name, String prefix) {
+        return name.startsWith(prefix) && name.length() > prefix.length();
+    }
+
+    private void checkAccessor(DeclaredType beanType, TypeElement declaringType, ExecutableElement method,
+            boolean unique, String description) throws Ineligible {
+        if (!unique) {
+            throw new Ineligible("ambiguous " + description + " for " + method + " in " + declaringType);
+        }
+        if (!method.getTypeParameters().isEmpty()) {
+            throw new Ineligible("generic accessor " + method);
+        }
+        if (hasBridge(declaringType, method)) {
+            throw new Ineligible("bridge method for " + method + " in " + declaringType);
+        }
+    }
+
+    /**
+     * Return if the compiler generates a bridge method for the given method, which reflection would
+     * see as an additional accessor.
+     */
+    private boolean hasBridge(TypeElement declaringType, ExecutableElement method) {
+        Deque<TypeMirror> supertypes = new ArrayDeque<>(
+                this.processingEnv.getTypeUtils().directSupertypes(declaringType.asType()));
+        TypeMirror erasure = this.processingEnv.getTypeUtils().erasure(method.asType());
+        while (!supertypes.isEmpty()) {
+            TypeMirror supertype = supertypes.poll();
+            TypeElement element = (TypeElement) this.processingEnv.getTypeUtils().asElement(supertype);
+            for (ExecutableElement overridden : ElementFilter.methodsIn(element.getEnclosedElements())) {
+                if (overridden.getSimpleName().equals(method.getSimpleName())
+                        && this.processingEnv.getElementUtils().overrides(method, overridden, declaringType)
+                        && !this.processingEnv.getTypeUtils().isSameType(erasure,
+                                this.processingEnv.getTypeUtils().erasure(overridden.asType()))) {
+                    return true;
+                }
+            }
+            supertypes.addAll(this.processingEnv.getTypeUtils().directSupertypes(supertype));
+        }
+        return false;
+    }
+
+    private static TypeElement getSuperclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        return (superclass.getKind() == TypeKind.DECLARED)
+                ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+
+    private void resolveType(DeclaredType beanType, TypeElement type, Property property) throws Ineligible {
+        TypeMirror getterType = null;
+        if (property.getter != null) {
+            getterType = ((ExecutableType) this.processingEnv.getTypeUtils()
+                    .asMemberOf(beanType, property.getter)).getReturnType();
+            if (getterType.getKind() == TypeKind.VOID) {
+                throw new Ineligible("void getter " + property.getter);
+            }
+        }
+        TypeMirror setterType = null;
+        if (property.setter != null) {
+            setterType = ((ExecutableType) this.processingEnv.getTypeUtils()
+                    .asMemberOf(beanType, property.setter)).getParameterTypes().get(0);
+        }
+        if (getterType != null && setterType != null
+                && !this.processingEnv.getTypeUtils().isSameType(getterType, setterType)) {
+            throw new Ineligible("getter and setter types of property " + property.name + " differ");
+        }
+        property.type = (setterType != null) ? setterType : getterType;
+        checkAccessible(property.type, type);
+        if (property.field != null && !property.field.getAnnotationMirrors().isEmpty()) {
+            checkAccessible(property.field.getEnclosingElement().asType(), type);
+        }
+    }
+
+    private void checkAccessible(TypeMirror type, TypeElement from) throws Ineligible {
+        switch (type.getKind()) {
+            case BOOLEAN:
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case CHAR:
+            case FLOAT:
+            case DOUBLE:
+                return;
+            case ARRAY:
+                checkAccessible(((ArrayType) type).getComponentType(), from);
+                return;
+            case DECLARED:
+                PackageElement fromPackage = this.processingEnv.getElementUtils().getPackageOf(from);
+                for (Element element = ((DeclaredType) type).asElement(); element.getKind() != ElementKind.PACKAGE;
+                        element = element.getEnclosingElement()) {
+                    Set<Modifier> modifiers = element.getModifiers();
+                    boolean samePackage = this.processingEnv.getElementUtils().getPackageOf(element)
+                            .equals(fromPackage);
+                    if (!modifiers.contains(Modifier.PUBLIC)
+                            && (!samePackage || modifiers.contains(Modifier.PRIVATE))) {
+                        throw new Ineligible("inaccessible type " + type);
+                    }
+                }
+                for (TypeMirror typeArgument : ((DeclaredType) type).getTypeArguments()) {
+                    checkAccessible(typeArgument, from);
+                }
+                return;
+            default:
+                throw new Ineligible("unsupported property type " + type);
+        }
+    }
+
+    // Code generation
+
+    private void write(TypeElement type, List<Property> properties) throws Ineligible {
+        String packageName = this.processingEnv.getElementUtils().getPackageOf(type).getQualifiedName()
+                .toString();
+        String binaryName = this.processingEnv.getElementUtils().getBinaryName(type).toString();
+        String simpleName = binaryName.substring(packageName.isEmpty() ? 0 : packageName.length() + 1)
+                .replace('$', '_') + SUFFIX;
+        String beanName = type.getQualifiedName().toString();
+        String binderName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try {
+            JavaFileObject file = this.processingEnv.getFiler().createSourceFile(binderName, type);
+            try (PrintWriter writer = new PrintWriter(file.openWriter())) {
+                if (!packageName.isEmpty()) {
+                    writer.println("package " + packageName + ";");
+                    writer.println();
+                }
+                writer.println("/**");
+                writer.println(" * Binder for {@link " + beanName + "}, generated by {@code "
+                        + getClass().getSimpleName() + "}.");
+                writer.println(" */");
+                writer.println("public final class " + simpleName + " extends " + GENERATED_BEAN_BINDER
+                        + "<" + beanName + "> {");
+                for (int i = 0; i < properties.size(); i++) {
+                    Property property = properties.get(i);
+                    if (isAnnotated(property)) {
+                        writer.println();
+                        writer.println("    private static final java.lang.annotation.Annotation[] ANNOTATIONS_" + i
+                                + " = getFieldAnnotations(" + getTypeName(
+                                this.processingEnv.getTypeUtils().erasure(
+                                        property.field.getEnclosingElement().asType()), false)
+                                + ".class, \"" + property.field.getSimpleName() + "\");");
+                    }
+                    String bindableType = getTypeName(property.type, true);
+                    writer.println();
+                    if (isScalar(property.type) && isAnnotated(property)) {
+                        writer.println("    private static final " + BINDABLE + "<" + bindableType + "> PROPERTY_" + i
+                                + " = " + BINDABLE + ".<" + bindableType + ">of(" + getResolvableType(property.type)
+                                + ").withAnnotations(ANNOTATIONS_" + i + ");");
+                    } else {
+                        writer.println("    private static final " + BINDABLE + "<" + bindableType + "> PROPERTY_" + i
+                                + " = " + BINDABLE + ".of(" + getResolvableType(property.type) + ");");
+                    }
+                }
+                writer.println();
+                writer.println("    @Override");
+                writer.println("    protected " + beanName + " createInstance() {");
+                writer.println("        return new " + beanName + "();");
+                writer.println("    }");
+                writer.println();
+                writer.println("    @Override");
+                writer.println("    protected boolean bindProperties(Properties<" + beanName + "> properties) {");
+                writer.println("        boolean bound = false;");
+                for (int i = 0; i < properties.size(); i++) {
+                    Property property = properties.get(i);
+                    String arguments = isScalar(property.type) ? ""
+                            : (isAnnotated(property) ? "ANNOTATIONS_" + i : "null") + ", ";
+                    writer.println("        bound |= properties." + (isScalar(property.type) ? "bindValue" : "bind")
+                            + "(\"" + toDashedForm(property.name) + "\", PROPERTY_" + i + ", " + arguments
+                            + ((property.getter != null) ? beanName + "::" + property.getter.getSimpleName()
+                            : "null") + ", "
+                            + ((property.setter != null) ? beanName + "::" + property.setter.getSimpleName()
+                            : "null") + ");");
+                }
+                writer.println("        return bound;");
+                writer.println("    }");
+                writer.println();
+                writer.println("}");
+            }
+        } catch (IOException ex) {
+            throw new Ineligible("unable to write " + binderName + " (" + ex.getMessage() + ")");
+        }
+    }
+
+    private static boolean isAnnotated(Property property) {
+        return property.field != null && !property.field.getAnnotationMirrors().isEmpty();
+    }
+
+    /**
+     * Return if the given type is bound from a single property value, in which case the
+     * generated binder reads and converts the value directly: primitives, enums and the
+     * types of the {@code java.lang} package.
+     */
+    private boolean isScalar(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return true;
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        return element.getKind() == ElementKind.ENUM || this.processingEnv.getElementUtils()
+                .getPackageOf(element).getQualifiedName().contentEquals("java.lang");
+    }
+
+    /**
+     * Return the source form of the given type, boxing primitives if requested.
+     */
+    private String getTypeName(TypeMirror type, boolean boxed) {
+        if (type.getKind().isPrimitive()) {
+            return boxed ? this.processingEnv.getTypeUtils().boxedClass((javax.lang.model.type.PrimitiveType) type)
+                    .getQualifiedName().toString() : type.toString();
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            return getTypeName(((ArrayType) type).getComponentType(), false) + "[]";
+        }
+        DeclaredType declaredType = (DeclaredType) type;
+        String name = ((TypeElement) declaredType.asElement()).getQualifiedName().toString();
+        if (declaredType.getTypeArguments().isEmpty()) {
+            return name;
+        }
+        StringBuilder result = new StringBuilder(name).append('<');
+        for (int i = 0; i < declaredType.getTypeArguments().size(); i++) {
+            result.append((i != 0) ? ", " : "").append(getTypeName(declaredType.getTypeArguments().get(i), false));
+        }
+        return result.append('>').toString();
+    }
+
+    /**
+     * Return an expression creating the {@code ResolvableType} of the given type.
+     */
+    private String getResolvableType(TypeMirror type) {
+        if (!isGeneric(type)) {
+            return RESOLVABLE_TYPE + ".forClass(" + getTypeName(type, false) + ".class)";
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            return RESOLVABLE_TYPE + ".forArrayComponent(" + getResolvableType(((ArrayType) type).getComponentType())
+                    + ")";
+        }
+        DeclaredType declaredType = (DeclaredType) type;
+        StringBuilder result = new StringBuilder(RESOLVABLE_TYPE).append(".forClassWithGenerics(")
+                .append(getTypeName(this.processingEnv.getTypeUtils().erasure(type), false)).append(".class");
+        for (TypeMirror typeArgument : declaredType.getTypeArguments()) {
+            result.append(", ").append(getResolvableType(typeArgument));
+        }
+        return result.append(')').toString();
+    }
+
+    private static boolean isGeneric(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isGeneric(((ArrayType) type).getComponentType());
+        }
+        return type.getKind() == TypeKind.DECLARED && !((DeclaredType) type).getTypeArguments().isEmpty();
+    }
+
+    /**
+     * Same as {@code java.beans.Introspector#decapitalize}.
+     */
+    private static String decapitalize(String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1))
+                && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * Same as {@code BeanPropertyName#toDashedForm}.
+     */
+    private static String toDashedForm(String name) {
+        StringBuilder result = new StringBuilder();
+        String replaced = name.replace('_', '-');
+        for (int i = 0; i < replaced.length(); i++) {
+            char ch = replaced.charAt(i);
+            if (Character.isUpperCase(ch) && result.length() > 0
+                    && result.charAt(result.length() - 1) != '-') {
+                result.append('-');
+            }
+            result.append(Character.toLowerCase(ch));
+        }
+        return result.toString();
+    }
+
+    /**
+     * A property of a bean.
+     */
+    private static final class Property {
+
+        private final String name;
+
+        private ExecutableElement getter;
+
+        private ExecutableElement setter;
+
+        private VariableElement field;
+
+        private TypeMirror type;
+
+        Property(String name) {
+            this.name = name;
+        }
+
+    }
+
+    /**
+     * Thrown when no binder can be generated for a class.
+     */
+    private static final class Ineligible extends Exception {
+
+        Ineligible(String message) {
+            super(message);
+        }
+
+    }
+
+}
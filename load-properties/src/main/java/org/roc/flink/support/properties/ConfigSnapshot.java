@@ -0,0 +1,169 @@
+package org.roc.flink.support.properties;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.springframework.util.Assert;
+
+/**
+ * Read-only view over the binary configuration snapshot format written by {@link
+ * ConfigSnapshotWriter}. All lookups are served directly from the underlying (usually memory
+ * mapped) buffer; nothing is materialized up front.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * header        magic:int version:short flags:short entryCount:int stringCount:int
+ *               keyTableOffset:int originTableOffset:int stringOffsetsOffset:int
+ *               stringDataOffset:int
+ * key table     entryCount x (key:int value:int), sorted by key UTF-8 bytes
+ * origin table  entryCount x (origin:int line:int column:int), present if FLAG_ORIGINS
+ * string index  (stringCount + 1) x offset:int into the string data
+ * string data   deduplicated UTF-8 strings
+ * </pre>
+ * Strings are referenced by their index in the string pool.
+ *
+ * @author roc
+ * @see ConfigSnapshotWriter
+ * @see ConfigSnapshotPropertySource
+ */
+final class ConfigSnapshot {
+
+    static final int MAGIC = 0x43464753;
+
+    static final short VERSION = 1;
+
+    static final short FLAG_ORIGINS = 1;
+
+    static final int HEADER_SIZE = 32;
+
+    static final int KEY_ENTRY_SIZE = 8;
+
+    static final int ORIGIN_ENTRY_SIZE = 12;
+
+    private final ByteBuffer buffer;
+
+    private final int entryCount;
+
+    private final int stringCount;
+
+    private final boolean hasOrigins;
+
+    private final int keyTableOffset;
+
+    private final int originTableOffset;
+
+    private final int stringOffsetsOffset;
+
+    private final int stringDataOffset;
+
+    ConfigSnapshot(ByteBuffer buffer) {
+        Assert.notNull(buffer, "Buffer must not be null");
+        Assert.isTrue(buffer.capacity() >= HEADER_SIZE && buffer.getInt(0) == MAGIC,
+                "Buffer does not contain a configuration snapshot");
+        short version = buffer.getShort(4);
+        Assert.isTrue(version == VERSION, () -> "Unsupported configuration snapshot version " + version);
+        this.buffer = buffer;
+        this.hasOrigins = (buffer.getShort(6) & FLAG_ORIGINS) != 0;
+        this.entryCount = buffer.getInt(8);
+        this.stringCount = buffer.getInt(12);
+        this.keyTableOffset = buffer.getInt(16);
+        this.originTableOffset = buffer.getInt(20);
+        this.stringOffsetsOffset = buffer.getInt(24);
+        this.stringDataOffset = buffer.getInt(28);
+    }
+
+    int size() {
+        return this.entryCount;
+    }
+
+    boolean hasOrigins() {
+        return this.hasOrigins;
+    }
+
+    /**
+     * Binary search the key table for the given key.
+     *
+     * @param key the key to find
+     * @return the entry index or {@code -1} if the key is not contained
+     */
+    int indexOf(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = this.entryCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int result = compareString(getKeyStringIndex(mid), bytes);
+            if (result < 0) {
+                low = mid + 1;
+            } else if (result > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    String getKey(int entry) {
+        return getString(getKeyStringIndex(entry));
+    }
+
+    String getValue(int entry) {
+        return getString(this.buffer.getInt(this.keyTableOffset + entry * KEY_ENTRY_SIZE + 4));
+    }
+
+    /**
+     * Return the origin description of an entry, or {@code null} if origins were not written.
+     */
+    String getOriginDescription(int entry) {
+        if (!this.hasOrigins) {
+            return null;
+        }
+        int index = this.buffer.getInt(this.originTableOffset + entry * ORIGIN_ENTRY_SIZE);
+        return (index != -1) ? getString(index) : null;
+    }
+
+    int getOriginLine(int entry) {
+        return this.hasOrigins ? this.buffer.getInt(this.originTableOffset + entry * ORIGIN_ENTRY_SIZE + 4) : -1;
+    }
+
+    int getOriginColumn(int entry) {
+        return this.hasOrigins ? this.buffer.getInt(this.originTableOffset + entry * ORIGIN_ENTRY_SIZE + 8) : -1;
+    }
+
+    private int getKeyStringIndex(int entry) {
+        return this.buffer.getInt(this.keyTableOffset + entry * KEY_ENTRY_SIZE);
+    }
+
+    private int getStringStart(int index) {
+        return this.stringDataOffset + this.buffer.getInt(this.stringOffsetsOffset + index * 4);
+    }
+
+    private String getString(int index) {
+        Assert.isTrue(index >= 0 && index < this.stringCount, "Invalid string index");
+        int start = getStringStart(index);
+        int length = getStringStart(index + 1) - start;
+        byte[] bytes = new byte[length];
+        ByteBuffer view = this.buffer.duplicate();
+        view.position(start);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compare a pooled string with the given UTF-8 bytes using unsigned byte order, which
+     * matches the order the writer sorted the keys in.
+     */
+    private int compareString(int index, byte[] bytes) {
+        int start = getStringStart(index);
+        int length = getStringStart(index + 1) - start;
+        int common = Math.min(length, bytes.length);
+        for (int i = 0; i < common; i++) {
+            int result = Integer.compare(this.buffer.get(start + i) & 0xff, bytes[i] & 0xff);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(length, bytes.length);
+    }
+
+}
@@ -0,0 +1,68 @@
+package org.roc.flink.support.properties;
+
+import org.springframework.boot.origin.Origin;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.boot.origin.TextResourceOrigin;
+import org.springframework.boot.origin.TextResourceOrigin.Location;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.io.DescriptiveResource;
+
+/**
+ * {@link EnumerablePropertySource} backed by a {@link ConfigSnapshot}. Lookups binary search
+ * the snapshot key table and decode only the requested value, so no {@code Map} is built for
+ * the snapshot contents.
+ *
+ * @author roc
+ * @see ConfigSnapshotPropertySourceLoader
+ */
+class ConfigSnapshotPropertySource extends EnumerablePropertySource<ConfigSnapshot>
+        implements OriginLookup<String> {
+
+    private volatile String[] names;
+
+    ConfigSnapshotPropertySource(String name, ConfigSnapshot source) {
+        super(name, source);
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        int entry = this.source.indexOf(name);
+        return (entry != -1) ? this.source.getValue(entry) : null;
+    }
+
+    @Override
+    public boolean containsProperty(String name) {
+        return this.source.indexOf(name) != -1;
+    }
+
+    @Override
+    public String[] getPropertyNames() {
+        String[] names = this.names;
+        if (names == null) {
+            names = new String[this.source.size()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = this.source.getKey(i);
+            }
+            this.names = names;
+        }
+        return names.clone();
+    }
+
+    @Override
+    public Origin getOrigin(String name) {
+        int entry = this.source.hasOrigins() ? this.source.indexOf(name) : -1;
+        String description = (entry != -1) ? this.source.getOriginDescription(entry) : null;
+        if (description == null) {
+            return null;
+        }
+        int line = this.source.getOriginLine(entry);
+        Location location = (line != -1) ? new Location(line, this.source.getOriginColumn(entry)) : null;
+        return new TextResourceOrigin(new DescriptiveResource(description), location);
+    }
+
+    @Override
+    public boolean isImmutable() {
+        return true;
+    }
+
+}
@@ -0,0 +1,56 @@
+package org.roc.flink.support.properties;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Strategy to load configuration snapshots written by {@link ConfigSnapshotWriter}
+ * ({@code application.cfgsnap}) into a {@link PropertySource}. File resources are memory
+ * mapped, other resources are read into a heap buffer once.
+ *
+ * @author roc
+ */
+public class ConfigSnapshotPropertySourceLoader implements PropertySourceLoader {
+
+    /**
+     * The file extension of configuration snapshots.
+     */
+    public static final String FILE_EXTENSION = "cfgsnap";
+
+    @Override
+    public String[] getFileExtensions() {
+        return new String[]{FILE_EXTENSION};
+    }
+
+    @Override
+    public List<PropertySource<?>> load(String name, Resource resource) throws IOException {
+        ConfigSnapshot snapshot = new ConfigSnapshot(read(resource));
+        if (snapshot.size() == 0) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(new ConfigSnapshotPropertySource(name, snapshot));
+    }
+
+    private ByteBuffer read(Resource resource) throws IOException {
+        if (resource.isFile()) {
+            File file = resource.getFile();
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+        try (InputStream inputStream = resource.getInputStream()) {
+            return ByteBuffer.wrap(StreamUtils.copyToByteArray(inputStream));
+        }
+    }
+
+}
@@ -0,0 +1,313 @@
+package org.roc.flink.support.properties;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyNameCache;
+import org.springframework.boot.origin.Origin;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.boot.origin.TextResourceOrigin;
+import org.springframework.core.env.CommandLinePropertySource;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.util.Assert;
+
+/**
+ * Writes the binary configuration snapshot format read by {@link ConfigSnapshot}. A snapshot
+ * holds, for every property name of the loaded configuration, the raw value of the
+ * highest-precedence property source, so that a job can load a single pre-merged file instead
+ * of re-parsing its YAML and properties files.
+ * <p>
+ * Names are compared the way the {@code Binder} compares them: a property whose name adapts to
+ * the same {@link ConfigurationPropertyName} as a property of a higher-precedence source (for
+ * example {@code foo.barBaz} and {@code foo.bar-baz}) is not written, and within a source the
+ * name the {@code Binder} would pick wins. A collection is bound from the first source that
+ * defines it, so the {@code [n]} elements of lower-precedence sources are not written either
+ * once a higher-precedence source defines the collection. This assumes that such names are
+ * bound to collections rather than maps. Binding the snapshot therefore gives the same values
+ * as binding the live environment.
+ * <p>
+ * Only {@link CharSequence}, {@link Number}, {@link Boolean} and {@link Character} values can
+ * be written, as their string form converts back to the same value. Other values, such as the
+ * {@code byte[]} of a YAML {@code !!binary} scalar or a YAML timestamp, are rejected with an
+ * {@link IllegalStateException}.
+ * <p>
+ * System properties, system environment and command line sources are not written since they
+ * belong to the machine that takes the snapshot. {@code spring.profiles*} keys are also skipped
+ * so that a snapshot is always treated as a profile-less document. Placeholders are kept
+ * unresolved and resolved by the environment that loads the snapshot.
+ *
+ * @author roc
+ * @see ConfigSnapshotPropertySourceLoader
+ */
+public final class ConfigSnapshotWriter {
+
+    private static final Set<String> EXCLUDED_PROPERTY_SOURCES = new HashSet<>(Arrays.asList(
+            StandardEnvironment.SYSTEM_PROPERTIES_PROPERTY_SOURCE_NAME,
+            StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME,
+            CommandLinePropertySource.COMMAND_LINE_PROPERTY_SOURCE_NAME));
+
+    private static final String PROFILES_PREFIX = "spring.profiles";
+
+    private final boolean includeOrigins;
+
+    /**
+     * Create a new {@link ConfigSnapshotWriter}.
+     *
+     * @param includeOrigins if the origin table should be written
+     */
+    public ConfigSnapshotWriter(boolean includeOrigins) {
+        this.includeOrigins = includeOrigins;
+    }
+
+    /**
+     * Write a snapshot of the configuration loaded by the given {@link ParameterToolPlus}.
+     *
+     * @param parameterToolPlus the loaded configuration
+     * @param file the destination file
+     * @throws IOException on write error
+     */
+    public void write(ParameterToolPlus parameterToolPlus, Path file) throws IOException {
+        Assert.notNull(parameterToolPlus, "ParameterToolPlus must not be null");
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            write(parameterToolPlus.getEnvironment(), outputStream);
+        }
+    }
+
+    /**
+     * Write a snapshot of the given environment.
+     *
+     * @param environment the environment
+     * @param outputStream the destination stream
+     * @throws IOException on write error
+     */
+    public void write(ConfigurableEnvironment environment, OutputStream outputStream)
+            throws IOException {
+        Assert.notNull(environment, "Environment must not be null");
+        List<Entry> entries = collect(environment);
+        entries.sort((e1, e2) -> compareUnsigned(e1.key, e2.key));
+        StringPool pool = new StringPool();
+        int[] table = new int[entries.size() * 2];
+        int[] origins = new int[entries.size() * 3];
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            table[i * 2] = pool.add(entry.key);
+            table[i * 2 + 1] = pool.add(entry.value.getBytes(StandardCharsets.UTF_8));
+            origins[i * 3] = (entry.origin != null)
+                    ? pool.add(entry.origin.getBytes(StandardCharsets.UTF_8)) : -1;
+            origins[i * 3 + 1] = entry.line;
+            origins[i * 3 + 2] = entry.column;
+        }
+        writeSnapshot(outputStream, table, origins, pool);
+    }
+
+    private List<Entry> collect(ConfigurableEnvironment environment) {
+        List<Entry> entries = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        Set<ConfigurationPropertyName> configurationPropertyNames = new HashSet<>();
+        Set<ConfigurationPropertyName> collections = new HashSet<>();
+        for (PropertySource<?> propertySource : environment.getPropertySources()) {
+            if (!(propertySource instanceof EnumerablePropertySource)
+                    || EXCLUDED_PROPERTY_SOURCES.contains(propertySource.getName())) {
+                continue;
+            }
+            List<String> sourceNames = new ArrayList<>();
+            Map<ConfigurationPropertyName, String> mappedNames = new LinkedHashMap<>();
+            for (String name : ((EnumerablePropertySource<?>) propertySource).getPropertyNames()) {
+                if (name.startsWith(PROFILES_PREFIX) || names.contains(name)
+                        || propertySource.getProperty(name) == null) {
+                    continue;
+                }
+                ConfigurationPropertyName configurationPropertyName = adapt(name);
+                if (configurationPropertyName == null) {
+                    sourceNames.add(name);
+                } else if (!configurationPropertyNames.contains(configurationPropertyName)
+                        && !isElementOf(configurationPropertyName, collections)) {
+                    // The binder looks up the canonical form first, then the other names
+                    // in the order of the source
+                    String mappedName = mappedNames.get(configurationPropertyName);
+                    if (mappedName == null || name.equals(configurationPropertyName.toString())) {
+                        mappedNames.put(configurationPropertyName, name);
+                    }
+                }
+            }
+            sourceNames.addAll(mappedNames.values());
+            for (String name : sourceNames) {
+                names.add(name);
+                entries.add(new Entry(name.getBytes(StandardCharsets.UTF_8),
+                        getValue(propertySource, name, propertySource.getProperty(name)),
+                        this.includeOrigins ? OriginLookup.getOrigin(propertySource, name) : null));
+            }
+            for (ConfigurationPropertyName name : mappedNames.keySet()) {
+                configurationPropertyNames.add(name);
+                addCollections(name, collections);
+            }
+        }
+        return entries;
+    }
+
+    private static boolean isElementOf(ConfigurationPropertyName name,
+            Set<ConfigurationPropertyName> collections) {
+        for (int i = 1; i < name.getNumberOfElements(); i++) {
+            if (name.isNumericIndex(i) && collections.contains(name.chop(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addCollections(ConfigurationPropertyName name,
+            Set<ConfigurationPropertyName> collections) {
+        // A value for the collection itself is bound as a comma-delimited list
+        collections.add(name);
+        for (int i = 1; i < name.getNumberOfElements(); i++) {
+            if (name.isNumericIndex(i)) {
+                collections.add(name.chop(i));
+            }
+        }
+    }
+
+    private ConfigurationPropertyName adapt(String name) {
+        try {
+            ConfigurationPropertyName adapted = ConfigurationPropertyNameCache.shared().adapt(name);
+            return adapted.isEmpty() ? null : adapted;
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    private String getValue(PropertySource<?> propertySource, String name, Object value) {
+        if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                || value instanceof Character) {
+            return value.toString();
+        }
+        throw new IllegalStateException("Property '" + name + "' from property source '"
+                + propertySource.getName() + "' has a value of type "
+                + value.getClass().getName() + " that cannot be written to a snapshot");
+    }
+
+    private void writeSnapshot(OutputStream outputStream, int[] table, int[] origins,
+            StringPool pool) throws IOException {
+        int entryCount = table.length / 2;
+        int keyTableOffset = ConfigSnapshot.HEADER_SIZE;
+        int originTableOffset = keyTableOffset + entryCount * ConfigSnapshot.KEY_ENTRY_SIZE;
+        int stringOffsetsOffset = originTableOffset
+                + (this.includeOrigins ? entryCount * ConfigSnapshot.ORIGIN_ENTRY_SIZE : 0);
+        int stringDataOffset = stringOffsetsOffset + (pool.size() + 1) * 4;
+        DataOutputStream output = new DataOutputStream(outputStream);
+        output.writeInt(ConfigSnapshot.MAGIC);
+        output.writeShort(ConfigSnapshot.VERSION);
+        output.writeShort(this.includeOrigins ? ConfigSnapshot.FLAG_ORIGINS : 0);
+        output.writeInt(entryCount);
+        output.writeInt(pool.size());
+        output.writeInt(keyTableOffset);
+        output.writeInt(originTableOffset);
+        output.writeInt(stringOffsetsOffset);
+        output.writeInt(stringDataOffset);
+        for (int value : table) {
+            output.writeInt(value);
+        }
+        if (this.includeOrigins) {
+            for (int value : origins) {
+                output.writeInt(value);
+            }
+        }
+        int offset = 0;
+        for (byte[] string : pool.strings) {
+            output.writeInt(offset);
+            offset += string.length;
+        }
+        output.writeInt(offset);
+        pool.data.writeTo(output);
+        output.flush();
+    }
+
+    private static int compareUnsigned(byte[] b1, byte[] b2) {
+        int common = Math.min(b1.length, b2.length);
+        for (int i = 0; i < common; i++) {
+            int result = Integer.compare(b1[i] & 0xff, b2[i] & 0xff);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return Integer.compare(b1.length, b2.length);
+    }
+
+    /**
+     * A key, its value and its origin.
+     */
+    private static class Entry {
+
+        private final byte[] key;
+
+        private final String value;
+
+        private final String origin;
+
+        private final int line;
+
+        private final int column;
+
+        Entry(byte[] key, String value, Origin origin) {
+            this.key = key;
+            this.value = value;
+            if (origin instanceof TextResourceOrigin) {
+                TextResourceOrigin textOrigin = (TextResourceOrigin) origin;
+                this.origin = (textOrigin.getResource() != null)
+                        ? textOrigin.getResource().getDescription() : null;
+                this.line = (textOrigin.getLocation() != null) ? textOrigin.getLocation().getLine() : -1;
+                this.column = (textOrigin.getLocation() != null) ? textOrigin.getLocation().getColumn() : -1;
+            } else {
+                this.origin = (origin != null) ? origin.toString() : null;
+                this.line = -1;
+                this.column = -1;
+            }
+        }
+
+    }
+
+    /**
+     * Deduplicating pool of UTF-8 strings.
+     */
+    private static class StringPool {
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        private final List<byte[]> strings = new ArrayList<>();
+
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+        int add(byte[] bytes) {
+            String key = new String(bytes, StandardCharsets.UTF_8);
+            Integer index = this.indexes.get(key);
+            if (index == null) {
+                index = this.strings.size();
+                this.indexes.put(key, index);
+                this.strings.add(bytes);
+                this.data.write(bytes, 0, bytes.length);
+            }
+            return index;
+        }
+
+        int size() {
+            return this.strings.size();
+        }
+
+    }
+
+}
@@ -35,4 +35,9 @@ public class DocumentsCacheKey {
         return this.loader.hashCode() * 31 + this.resource.hashCode();
     }
 
+    @Override
+    public String toString() {
+        return this.resource.getDescription();
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package org.roc.flink.support.properties;
+
+import java.util.Map;
+import org.springframework.util.Assert;
+
+/**
+ * Immutable, read-optimized snapshot of resolved property values. Keys and values are held
+ * in flat arrays addressed by linear probing so that a lookup is a single hash probe with no
+ * locking and no allocation.
+ *
+ * @author roc
+ * @see ParameterToolPlus#freeze()
+ */
+final class FrozenProperties {
+
+    private final String[] keys;
+
+    private final String[] values;
+
+    private final int[] hashes;
+
+    private final int mask;
+
+    private final int size;
+
+    FrozenProperties(Map<String, String> properties) {
+        Assert.notNull(properties, "Properties must not be null");
+        int capacity = tableSizeFor(properties.size());
+        this.keys = new String[capacity];
+        this.values = new String[capacity];
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+        for (Map.Entry<String, String> entry : properties.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+        this.size = properties.size();
+    }
+
+    private void put(String key, String value) {
+        int hash = spread(key.hashCode());
+        int index = hash & this.mask;
+        while (this.keys[index] != null) {
+            if (this.hashes[index] == hash && this.keys[index].equals(key)) {
+                this.values[index] = value;
+                return;
+            }
+            index = (index + 1) & this.mask;
+        }
+        this.keys[index] = key;
+        this.values[index] = value;
+        this.hashes[index] = hash;
+    }
+
+    /**
+     * Return the value for the given key or {@code null} if the key is not contained.
+     *
+     * @param key the key to look up
+     * @return the value or {@code null}
+     */
+    String get(String key) {
+        int hash = spread(key.hashCode());
+        int index = hash & this.mask;
+        String candidate;
+        while ((candidate = this.keys[index]) != null) {
+            if (this.hashes[index] == hash && candidate.equals(key)) {
+                return this.values[index];
+            }
+            index = (index + 1) & this.mask;
+        }
+        return null;
+    }
+
+    boolean containsKey(String key) {
+        return get(key) != null;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Keep the load factor at or below one half so probe sequences stay short.
+     */
+    private static int tableSizeFor(int size) {
+        int capacity = 2;
+        while (capacity < size * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+}
@@ -0,0 +1,47 @@
+package org.roc.flink.support.properties;
+
+import java.util.Locale;
+import org.springframework.boot.util.StringInterner;
+
+/**
+ * Scope of the {@link StringInterner} used by a {@link Loader} to deduplicate the keys and values
+ * of the documents it loads.
+ *
+ * @author roc
+ * @see Loader#setInterningScope(InterningScope)
+ */
+public enum InterningScope {
+
+    /**
+     * Loaded documents are not deduplicated.
+     */
+    NONE,
+
+    /**
+     * Documents are deduplicated through an interner created for a single {@link Loader#load()
+     * load}.
+     */
+    LOAD,
+
+    /**
+     * Documents are deduplicated through the {@link StringInterner#shared() process-wide}
+     * interner, so that environments loaded by several jobs in the same JVM share strings.
+     */
+    PROCESS;
+
+    StringInterner createInterner() {
+        switch (this) {
+            case LOAD:
+                return new StringInterner();
+            case PROCESS:
+                return StringInterner.shared();
+            default:
+                return null;
+        }
+    }
+
+    static InterningScope of(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ENGLISH));
+    }
+
+}
@@ -13,6 +13,11 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -20,8 +25,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.properties.bind.Bindable;
 import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.boot.context.properties.bind.PropertySourcesPlaceholdersResolver;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyNameCache;
 import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.DeferredPropertySource;
 import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.boot.util.StringInterner;
+import org.springframework.boot.util.StringInternerAware;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.MutablePropertySources;
@@ -63,6 +72,26 @@ public class Loader {
      * The "config additional location" property name.
      */
     public static final String CONFIG_ADDITIONAL_LOCATION_PROPERTY = "spring.config.additional-location";
+    /**
+     * The "parallel load threads" property name. When greater than one, candidate configuration
+     * files are parsed concurrently before profiles are processed.
+     */
+    public static final String CONFIG_PARALLEL_LOAD_THREADS_PROPERTY = "spring.config.parallel-load-threads";
+    /**
+     * The "document cache size" property name. When greater than zero, parsed configuration
+     * files are kept in a process-wide cache shared by all loaders.
+     */
+    public static final String CONFIG_DOCUMENT_CACHE_SIZE_PROPERTY = "spring.config.document-cache-size";
+    /**
+     * The "origin tracking" property name. When {@code false}, configuration files are loaded
+     * without recording the file position of each property.
+     */
+    public static final String CONFIG_ORIGIN_TRACKING_PROPERTY = "spring.config.origin-tracking";
+    /**
+     * The "interning" property name. One of {@code none} (the default), {@code load} or {@code
+     * process}, see {@link InterningScope}.
+     */
+    public static final String CONFIG_INTERNING_PROPERTY = "spring.config.interning";
     /**
      * Name of the application configuration {@link PropertySource}.
      */
@@ -79,6 +108,16 @@ public class Loader {
     private String searchLocations;
     private String names;
 
+    private int parallelLoadThreads;
+
+    private int documentCacheSize = -1;
+
+    private Boolean originTracking;
+
+    private InterningScope interningScope;
+
+    private StringInterner interner;
+
     private Deque<Profile> profiles;
 
     private List<Profile> processedProfiles;
@@ -89,6 +128,8 @@ public class Loader {
 
     private Map<DocumentsCacheKey, List<Document>> loadDocumentsCache = new HashMap<>();
 
+    private ResourceManifest resourceManifest;
+
     public Loader(ConfigurableEnvironment environment, ResourceLoader resourceLoader) {
         this.environment = environment;
         this.resourceLoader = (resourceLoader != null) ? resourceLoader
@@ -102,7 +143,10 @@ public class Loader {
         this.processedProfiles = new LinkedList<>();
         this.activatedProfiles = false;
         this.loaded = new LinkedHashMap<>();
+        this.resourceManifest = new ResourceManifest(this.resourceLoader);
+        this.interner = getInterningScope().createInterner();
         initializeProfiles();
+        preloadDocuments();
         while (!this.profiles.isEmpty()) {
             Profile profile = this.profiles.poll();
             if (profile != null && !profile.isDefaultProfile()) {
@@ -116,6 +160,19 @@ public class Loader {
         load(null, this::getNegativeProfileFilter,
                 addToLoaded(MutablePropertySources::addFirst, true));
         addLoadedPropertySources();
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("Resolved config locations with "
+                    + this.resourceManifest.getSummary());
+            if (getDocumentCacheSize() > 0) {
+                LOGGER.trace(SharedDocumentCache.get().getSummary());
+            }
+            if (this.interner != null) {
+                LOGGER.trace("Deduplicated config documents with " + this.interner.getSummary());
+            }
+            LOGGER.trace("Cached configuration property names with "
+                    + ConfigurationPropertyNameCache.shared().getSummary() + "; "
+                    + ConfigurationPropertyNameCache.getMappingSummary());
+        }
     }
 
     /**
@@ -281,7 +338,8 @@ public class Loader {
             DocumentFilter filter, DocumentConsumer consumer) {
         try {
             Resource resource = this.resourceLoader.getResource(location);
-            if (resource == null || !resource.exists()) {
+            if (resource == null
+                    || !this.resourceManifest.exists(location, resource)) {
                 if (LOGGER.isTraceEnabled()) {
                     LOGGER.trace("Skipped missing config "
                             + getDescription(location, resource, profile));
@@ -327,6 +385,98 @@ public class Loader {
         }
     }
 
+    /**
+     * Parse all candidate files known up front in parallel so that the profile processing below
+     * is served from {@link #loadDocumentsCache}. Candidates are derived from the profiles known
+     * before any file is read; files only reachable through profiles activated inside config
+     * files are still parsed on demand. Failed candidates are left uncached so that the regular
+     * loading path reports the error.
+     */
+    private void preloadDocuments() {
+        int threads = getParallelLoadThreads();
+        if (threads <= 1) {
+            return;
+        }
+        Map<DocumentsCacheKey, Callable<List<Document>>> candidates = getPreloadCandidates();
+        if (candidates.size() <= 1) {
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(threads, candidates.size()), (runnable) -> {
+                    Thread thread = new Thread(runnable, "config-loader");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        try {
+            Map<DocumentsCacheKey, Future<List<Document>>> futures = new LinkedHashMap<>();
+            candidates.forEach((key, task) -> futures.put(key, executor.submit(task)));
+            for (Map.Entry<DocumentsCacheKey, Future<List<Document>>> entry : futures.entrySet()) {
+                try {
+                    this.loadDocumentsCache.put(entry.getKey(), entry.getValue().get());
+                } catch (ExecutionException ex) {
+                    if (LOGGER.isTraceEnabled()) {
+                        LOGGER.trace("Deferred failed parallel load of " + entry.getKey(), ex.getCause());
+                    }
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Preloaded " + candidates.size() + " config files using " + threads
+                    + " threads");
+        }
+    }
+
+    private Map<DocumentsCacheKey, Callable<List<Document>>> getPreloadCandidates() {
+        Map<DocumentsCacheKey, Callable<List<Document>>> candidates = new LinkedHashMap<>();
+        getSearchLocations().forEach((location) -> {
+            boolean isFolder = location.endsWith("/");
+            Set<String> names = isFolder ? getSearchNames() : NO_SEARCH_NAMES;
+            for (String name : names) {
+                if (!StringUtils.hasText(name)) {
+                    this.propertySourceLoaders.stream()
+                            .filter((loader) -> canLoadFileExtension(loader, location))
+                            .findFirst()
+                            .ifPresent((loader) -> addPreloadCandidate(candidates, loader, location));
+                    continue;
+                }
+                Set<String> processed = new HashSet<>();
+                for (PropertySourceLoader loader : this.propertySourceLoaders) {
+                    for (String fileExtension : loader.getFileExtensions()) {
+                        if (processed.add(fileExtension)) {
+                            String prefix = location + name;
+                            for (Profile profile : this.profiles) {
+                                if (profile != null) {
+                                    addPreloadCandidate(candidates, loader,
+                                            prefix + "-" + profile + "." + fileExtension);
+                                }
+                            }
+                            addPreloadCandidate(candidates, loader, prefix + "." + fileExtension);
+                        }
+                    }
+                }
+            }
+        });
+        return candidates;
+    }
+
+    private void addPreloadCandidate(Map<DocumentsCacheKey, Callable<List<Document>>> candidates,
+            PropertySourceLoader loader, String location) {
+        Resource resource = this.resourceLoader.getResource(location);
+        if (resource == null || !this.resourceManifest.exists(location, resource)
+                || !StringUtils.hasText(StringUtils.getFilenameExtension(resource.getFilename()))) {
+            return;
+        }
+        DocumentsCacheKey cacheKey = new DocumentsCacheKey(loader, resource);
+        if (!candidates.containsKey(cacheKey) && !this.loadDocumentsCache.containsKey(cacheKey)) {
+            String name = "applicationConfig: [" + location + "]";
+            candidates.put(cacheKey, () -> asDocuments(loadPropertySources(loader, name, resource)));
+        }
+    }
+
     private void addIncludedProfiles(Set<Profile> includeProfiles) {
         LinkedList<Profile> existingProfiles = new LinkedList<>(this.profiles);
         this.profiles.clear();
@@ -340,20 +490,44 @@ public class Loader {
         DocumentsCacheKey cacheKey = new DocumentsCacheKey(loader, resource);
         List<Document> documents = this.loadDocumentsCache.get(cacheKey);
         if (documents == null) {
-            List<PropertySource<?>> loaded = loader.load(name, resource);
+            List<PropertySource<?>> loaded = loadPropertySources(loader, name, resource);
             documents = asDocuments(loaded);
             this.loadDocumentsCache.put(cacheKey, documents);
         }
         return documents;
     }
 
+    private List<PropertySource<?>> loadPropertySources(PropertySourceLoader loader, String name,
+            Resource resource) throws IOException {
+        int documentCacheSize = getDocumentCacheSize();
+        if (documentCacheSize > 0) {
+            // Cached documents outlive this load so they only use the process-wide interner
+            StringInterner interner = (this.interner != null) ? StringInterner.shared() : null;
+            return SharedDocumentCache.get().load(loader, name, resource, isOriginTracking(),
+                    interner, documentCacheSize);
+        }
+        return intern(loader.load(name, resource, isOriginTracking()), this.interner);
+    }
+
+    static List<PropertySource<?>> intern(List<PropertySource<?>> propertySources,
+            StringInterner interner) {
+        if (propertySources != null && interner != null) {
+            for (PropertySource<?> propertySource : propertySources) {
+                if (propertySource instanceof StringInternerAware) {
+                    ((StringInternerAware) propertySource).setStringInterner(interner);
+                }
+            }
+        }
+        return propertySources;
+    }
+
     private List<Document> asDocuments(List<PropertySource<?>> loaded) {
         if (loaded == null) {
             return Collections.emptyList();
         }
         return loaded.stream().map((propertySource) -> {
             Binder binder = new Binder(
-                    ConfigurationPropertySources.from(propertySource),
+                    ConfigurationPropertySources.from(getProfilesPropertySource(propertySource)),
                     new PropertySourcesPlaceholdersResolver(this.environment));
             return new Document(propertySource,
                     binder.bind("spring.profiles", Bindable.of(String[].class))
@@ -363,6 +537,18 @@ public class Loader {
         }).collect(Collectors.toList());
     }
 
+    /**
+     * Return the property source to read profile properties from. Deferred sources expose
+     * them without being loaded, so documents rejected by the {@link DocumentFilter} are
+     * never loaded in full.
+     */
+    private PropertySource<?> getProfilesPropertySource(PropertySource<?> propertySource) {
+        if (propertySource instanceof DeferredPropertySource) {
+            return ((DeferredPropertySource) propertySource).getHeaderPropertySource();
+        }
+        return propertySource;
+    }
+
     private String getDescription(String location, Resource resource,
             Profile profile) {
         String description = getDescription(location, resource);
@@ -505,6 +691,101 @@ public class Loader {
     }
 
 
+    /**
+     * Set the number of threads used to parse candidate configuration files in parallel. A
+     * value of {@code 0} or {@code 1} (the default) loads files serially. May also be set
+     * through the {@value #CONFIG_PARALLEL_LOAD_THREADS_PROPERTY} property.
+     * @param parallelLoadThreads the number of parser threads
+     */
+    public void setParallelLoadThreads(int parallelLoadThreads) {
+        Assert.isTrue(parallelLoadThreads >= 0, "ParallelLoadThreads must not be negative");
+        this.parallelLoadThreads = parallelLoadThreads;
+    }
+
+    private int getParallelLoadThreads() {
+        if (this.parallelLoadThreads > 0) {
+            return this.parallelLoadThreads;
+        }
+        Integer threads = this.environment.getProperty(CONFIG_PARALLEL_LOAD_THREADS_PROPERTY,
+                Integer.class);
+        return (threads != null) ? threads : 0;
+    }
+
+    /**
+     * Set the maximum number of parsed configuration files kept in the process-wide cache shared
+     * by all loaders, so that repeated loads in the same JVM skip re-parsing unchanged files. A
+     * value of {@code 0} (the default) disables the cache. May also be set through the {@value
+     * #CONFIG_DOCUMENT_CACHE_SIZE_PROPERTY} property.
+     * @param documentCacheSize the maximum number of cached files
+     */
+    public void setDocumentCacheSize(int documentCacheSize) {
+        Assert.isTrue(documentCacheSize >= 0, "DocumentCacheSize must not be negative");
+        this.documentCacheSize = documentCacheSize;
+    }
+
+    private int getDocumentCacheSize() {
+        if (this.documentCacheSize >= 0) {
+            return this.documentCacheSize;
+        }
+        Integer size = this.environment.getProperty(CONFIG_DOCUMENT_CACHE_SIZE_PROPERTY,
+                Integer.class);
+        return (size != null) ? size : 0;
+    }
+
+    /**
+     * Set whether the file, line and column of each loaded property should be recorded. Origins
+     * are only used for diagnostics, so disabling them saves memory and load time when a large
+     * configuration is loaded. Tracking is enabled by default and may also be configured through
+     * the {@value #CONFIG_ORIGIN_TRACKING_PROPERTY} property.
+     * @param originTracking if property origins should be recorded
+     */
+    public void setOriginTracking(boolean originTracking) {
+        this.originTracking = originTracking;
+    }
+
+    private boolean isOriginTracking() {
+        if (this.originTracking != null) {
+            return this.originTracking;
+        }
+        return this.environment.getProperty(CONFIG_ORIGIN_TRACKING_PROPERTY, Boolean.class, true);
+    }
+
+    /**
+     * Set the scope of the interner used to deduplicate the keys, values and configuration
+     * property name elements of the loaded documents. Defaults to {@link InterningScope#NONE}
+     * and may also be configured through the {@value #CONFIG_INTERNING_PROPERTY} property.
+     * @param interningScope the interning scope
+     */
+    public void setInterningScope(InterningScope interningScope) {
+        Assert.notNull(interningScope, "InterningScope must not be null");
+        this.interningScope = interningScope;
+    }
+
+    private InterningScope getInterningScope() {
+        if (this.interningScope != null) {
+            return this.interningScope;
+        }
+        String scope = this.environment.getProperty(CONFIG_INTERNING_PROPERTY);
+        return StringUtils.hasText(scope) ? InterningScope.of(scope) : InterningScope.NONE;
+    }
+
+    /**
+     * Return the interner used by the last {@link #load()}, which reports how many strings
+     * were deduplicated and the estimated number of bytes saved.
+     * @return the interner or {@code null} if interning is disabled
+     */
+    public StringInterner getStringInterner() {
+        return this.interner;
+    }
+
+    /**
+     * Remove all entries from the process-wide document cache.
+     * @see #setDocumentCacheSize(int)
+     */
+    public static void clearDocumentCache() {
+        SharedDocumentCache.get().clear();
+    }
+
     /**
      * Sets the names of the files that should be loaded (excluding file extension) as a
      * comma-separated list.
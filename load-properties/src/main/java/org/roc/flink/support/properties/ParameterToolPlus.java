@@ -11,6 +11,7 @@ import java.util.Set;
 import org.springframework.core.env.CommandLinePropertySource;
 import org.springframework.core.env.CompositePropertySource;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.EnumerablePropertySource;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.MutablePropertySources;
@@ -33,6 +34,8 @@ public class ParameterToolPlus {
 
     private StandardEnvironment standardEnvironment;
 
+    private volatile FrozenProperties frozenProperties;
+
     private ParameterToolPlus(String[] args) {
         standardEnvironment = new StandardEnvironment();
         configureEnvironment(standardEnvironment, args);
@@ -61,31 +64,108 @@ public class ParameterToolPlus {
     //---------------------------------------------------------------------
     
     public boolean containsProperty(String key) {
+        FrozenProperties frozen = this.frozenProperties;
+        if (frozen != null && frozen.containsKey(key)) {
+            return true;
+        }
         return this.standardEnvironment.containsProperty(key);
     }
 
     public String getProperty(String key) {
+        FrozenProperties frozen = this.frozenProperties;
+        if (frozen != null) {
+            String value = frozen.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
         return this.standardEnvironment.getProperty(key);
     }
 
     public String getProperty(String key, String defaultValue) {
-        return this.standardEnvironment.getProperty(key, defaultValue);
+        String value = getProperty(key);
+        return (value != null) ? value : defaultValue;
     }
     
     public <T> T getProperty(String key, Class<T> targetType) {
+        FrozenProperties frozen = this.frozenProperties;
+        if (frozen != null) {
+            String value = frozen.get(key);
+            if (value != null) {
+                return this.standardEnvironment.getConversionService().convert(value, targetType);
+            }
+        }
         return this.standardEnvironment.getProperty(key, targetType);
     }
     
     public <T> T getProperty(String key, Class<T> targetType, T defaultValue) {
-        return this.standardEnvironment.getProperty(key, targetType, defaultValue);
+        T value = getProperty(key, targetType);
+        return (value != null) ? value : defaultValue;
     }
     
     public String getRequiredProperty(String key) throws IllegalStateException {
-        return this.standardEnvironment.getRequiredProperty(key);
+        String value = getProperty(key);
+        if (value == null) {
+            throw new IllegalStateException("Required key '" + key + "' not found");
+        }
+        return value;
     }
 
     public <T> T getRequiredProperty(String key, Class<T> targetType) throws IllegalStateException {
-        return this.standardEnvironment.getRequiredProperty(key, targetType);
+        T value = getProperty(key, targetType);
+        if (value == null) {
+            throw new IllegalStateException("Required key '" + key + "' not found");
+        }
+        return value;
+    }
+
+    /**
+     * 冻结当前已加载的配置：按优先级解析所有可枚举配置源中的属性（包括占位符），
+     * 生成一个只读快照。之后的读取只需一次哈希探测，不再遍历配置源链；快照中不存在的
+     * key（例如环境变量的宽松匹配）仍回退到原始的{@link StandardEnvironment}。
+     * 注意占位符只在冻结时解析一次，例如{@code ${random.int}}不会在每次读取时重新生成。
+     * @return 当前参数工具类
+     */
+    public ParameterToolPlus freeze() {
+        Map<String, String> resolved = new HashMap<>();
+        for (PropertySource<?> propertySource : this.standardEnvironment.getPropertySources()) {
+            if (propertySource instanceof EnumerablePropertySource) {
+                for (String name : ((EnumerablePropertySource<?>) propertySource).getPropertyNames()) {
+                    if (!resolved.containsKey(name)) {
+                        resolve(name, resolved);
+                    }
+                }
+            }
+        }
+        this.frozenProperties = new FrozenProperties(resolved);
+        return this;
+    }
+
+    private void resolve(String name, Map<String, String> resolved) {
+        try {
+            String value = this.standardEnvironment.getProperty(name);
+            if (value != null) {
+                resolved.put(name, value);
+            }
+        } catch (RuntimeException ex) {
+            // Leave unresolvable values to the environment so errors surface on read
+        }
+    }
+
+    /**
+     * 是否已调用{@link #freeze()}
+     * @return 是否已冻结
+     */
+    public boolean isFrozen() {
+        return this.frozenProperties != null;
+    }
+
+    /**
+     * 返回加载配置所用的环境，供{@link ConfigSnapshotWriter}导出快照
+     * @return 环境
+     */
+    ConfigurableEnvironment getEnvironment() {
+        return this.standardEnvironment;
     }
 
     /**
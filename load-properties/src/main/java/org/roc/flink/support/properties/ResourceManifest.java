@@ -0,0 +1,106 @@
+package org.roc.flink.support.properties;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.ResourceUtils;
+
+/**
+ * Answers the existence checks made by {@link Loader} while it probes every location, name,
+ * profile and extension combination. Each {@code file:} directory is listed once into an
+ * in-memory manifest so that missing candidates are rejected without touching the file
+ * system, and every other location is probed at most once per load.
+ *
+ * @author roc
+ */
+class ResourceManifest {
+
+    private final ResourceLoader resourceLoader;
+
+    private final Map<String, Set<String>> directories = new HashMap<>();
+
+    private final Map<String, Boolean> existence = new HashMap<>();
+
+    private int checks;
+
+    private int probes;
+
+    private int listings;
+
+    ResourceManifest(ResourceLoader resourceLoader) {
+        this.resourceLoader = resourceLoader;
+    }
+
+    /**
+     * Return if the given resource exists.
+     *
+     * @param location the location the resource was obtained from
+     * @param resource the resource
+     * @return {@code true} if the resource exists
+     */
+    boolean exists(String location, Resource resource) {
+        this.checks++;
+        Boolean exists = this.existence.get(location);
+        if (exists == null) {
+            exists = !isKnownMissing(location) && probe(resource);
+            this.existence.put(location, exists);
+        }
+        return exists;
+    }
+
+    private boolean probe(Resource resource) {
+        this.probes++;
+        return resource.exists();
+    }
+
+    private boolean isKnownMissing(String location) {
+        if (!location.startsWith(ResourceUtils.FILE_URL_PREFIX)) {
+            return false;
+        }
+        int separator = location.lastIndexOf('/');
+        if (separator == -1 || location.indexOf('%', separator) != -1) {
+            return false;
+        }
+        Set<String> names = this.directories.computeIfAbsent(
+                location.substring(0, separator + 1), this::list);
+        // Compare ignoring case so that case-insensitive file systems never see a false miss
+        return names != null
+                && !names.contains(location.substring(separator + 1).toLowerCase(Locale.ENGLISH));
+    }
+
+    private Set<String> list(String directoryLocation) {
+        try {
+            File directory = this.resourceLoader.getResource(directoryLocation).getFile();
+            this.listings++;
+            String[] files = directory.list();
+            Set<String> names = new HashSet<>();
+            if (files != null) {
+                for (String file : files) {
+                    names.add(file.toLowerCase(Locale.ENGLISH));
+                }
+            }
+            return names;
+        } catch (IOException | RuntimeException ex) {
+            // Not a plain directory, fall back to probing each candidate
+            return null;
+        }
+    }
+
+    /**
+     * Return a short description of how many existence checks hit the file system.
+     *
+     * @return the summary
+     */
+    String getSummary() {
+        return String.format("%d config location checks, %d existence probes and %d directory "
+                        + "listings (%d probes avoided)", this.checks, this.probes, this.listings,
+                this.checks - this.probes - this.listings);
+    }
+
+}
@@ -0,0 +1,233 @@
+package org.roc.flink.support.properties;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.boot.util.StringInterner;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+
+/**
+ * Process-wide, size-bounded cache of the property sources parsed by a {@link
+ * PropertySourceLoader}, shared by all {@link Loader} instances. Entries are keyed by loader
+ * type, property source name, resource URI, origin tracking and interning modes, and validated
+ * against the resource's last-modified time and length (or a CRC32 of its content when the
+ * resource cannot report a modification time) so that edited files are parsed again. The least recently used
+ * entry is evicted once the configured size is exceeded.
+ * <p>
+ * Only lists whose property sources are all {@link OriginLookup#isImmutable() immutable} are
+ * cached, since cached instances end up in several environments. Profile headers are still
+ * bound per load because they may contain placeholders resolved against the environment.
+ *
+ * @author roc
+ */
+final class SharedDocumentCache {
+
+    private static final SharedDocumentCache INSTANCE = new SharedDocumentCache();
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    private SharedDocumentCache() {
+    }
+
+    static SharedDocumentCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Return the property sources for the given resource, loading and caching them if needed.
+     *
+     * @param loader the loader used to parse the resource
+     * @param name the property source name
+     * @param resource the resource
+     * @param trackOrigins if property origins should be recorded
+     * @param interner the interner applied to newly loaded sources or {@code null}
+     * @param maxSize the maximum number of cached resources
+     * @return the loaded property sources
+     * @throws IOException on load error
+     */
+    List<PropertySource<?>> load(PropertySourceLoader loader, String name, Resource resource,
+            boolean trackOrigins, StringInterner interner, int maxSize) throws IOException {
+        Key key = new Key(loader.getClass().getName(), name, resource.getURI().toString(),
+                trackOrigins, interner != null);
+        Stamp stamp = Stamp.of(resource);
+        synchronized (this) {
+            Entry entry = this.entries.get(key);
+            if (entry != null && entry.stamp.equals(stamp)) {
+                this.hits++;
+                return entry.propertySources;
+            }
+            this.misses++;
+        }
+        List<PropertySource<?>> propertySources = Loader.intern(
+                loader.load(name, resource, trackOrigins), interner);
+        if (propertySources != null && isImmutable(propertySources)) {
+            synchronized (this) {
+                this.entries.put(key, new Entry(stamp, propertySources));
+                while (this.entries.size() > maxSize) {
+                    this.entries.remove(this.entries.keySet().iterator().next());
+                    this.evictions++;
+                }
+            }
+        }
+        return propertySources;
+    }
+
+    private boolean isImmutable(List<PropertySource<?>> propertySources) {
+        for (PropertySource<?> propertySource : propertySources) {
+            if (!(propertySource instanceof OriginLookup)
+                    || !((OriginLookup<?>) propertySource).isImmutable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Remove all cached entries.
+     */
+    synchronized void clear() {
+        this.entries.clear();
+    }
+
+    /**
+     * Return a short description of the cache usage.
+     *
+     * @return the summary
+     */
+    synchronized String getSummary() {
+        return String.format("%d shared config documents cached (%d hits, %d misses, "
+                + "%d evictions)", this.entries.size(), this.hits, this.misses, this.evictions);
+    }
+
+    /**
+     * Identity of a cached resource.
+     */
+    private static final class Key {
+
+        private final String loader;
+
+        private final String name;
+
+        private final String uri;
+
+        private final boolean trackOrigins;
+
+        private final boolean interned;
+
+        Key(String loader, String name, String uri, boolean trackOrigins, boolean interned) {
+            this.loader = loader;
+            this.name = name;
+            this.uri = uri;
+            this.trackOrigins = trackOrigins;
+            this.interned = interned;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return this.loader.equals(other.loader) && this.name.equals(other.name)
+                    && this.uri.equals(other.uri) && this.trackOrigins == other.trackOrigins
+                    && this.interned == other.interned;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = (this.loader.hashCode() * 31 + this.name.hashCode()) * 31
+                    + this.uri.hashCode();
+            result = result * 31 + Boolean.hashCode(this.trackOrigins);
+            return result * 31 + Boolean.hashCode(this.interned);
+        }
+
+    }
+
+    /**
+     * Version of a resource at the time it was parsed.
+     */
+    private static final class Stamp {
+
+        private final long lastModified;
+
+        private final long length;
+
+        private Stamp(long lastModified, long length) {
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        static Stamp of(Resource resource) throws IOException {
+            try {
+                long lastModified = resource.lastModified();
+                if (lastModified > 0) {
+                    return new Stamp(lastModified, resource.contentLength());
+                }
+            } catch (IOException ex) {
+                // Fall back to hashing the content
+            }
+            CRC32 crc = new CRC32();
+            long length = 0;
+            byte[] buffer = new byte[8192];
+            try (InputStream inputStream = resource.getInputStream()) {
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    crc.update(buffer, 0, read);
+                    length += read;
+                }
+            }
+            // Negative so that a checksum never equals a modification time
+            return new Stamp(-crc.getValue() - 1, length);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Stamp other = (Stamp) obj;
+            return this.lastModified == other.lastModified && this.length == other.length;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(this.lastModified) * 31 + Long.hashCode(this.length);
+        }
+
+    }
+
+    /**
+     * A cached property source list.
+     */
+    private static final class Entry {
+
+        private final Stamp stamp;
+
+        private final List<PropertySource<?>> propertySources;
+
+        Entry(Stamp stamp, List<PropertySource<?>> propertySources) {
+            this.stamp = stamp;
+            this.propertySources = propertySources;
+        }
+
+    }
+
+}
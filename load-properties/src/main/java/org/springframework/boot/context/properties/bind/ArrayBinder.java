@@ -40,7 +40,8 @@ class ArrayBinder extends IndexedElementsBinder<Object> {
 	@Override
 	protected Object bindAggregate(ConfigurationPropertyName name, Bindable<?> target,
 			AggregateElementBinder elementBinder) {
-		IndexedCollectionSupplier result = new IndexedCollectionSupplier(ArrayList::new);
+		IndexedCollectionSupplier result = new IndexedCollectionSupplier(
+				(initialCapacity) -> new ArrayList<>(initialCapacity));
 		ResolvableType aggregateType = target.getType();
 		ResolvableType elementType = target.getType().getComponentType();
 		bindIndexed(name, target, elementBinder, aggregateType, elementType, result);
@@ -31,6 +31,8 @@ import org.springframework.beans.BeanUtils;
 import org.springframework.beans.PropertyEditorRegistry;
 import org.springframework.beans.SimpleTypeConverter;
 import org.springframework.beans.propertyeditors.FileEditor;
+import org.springframework.boot.context.properties.bind.BindConverterCache.Conversion;
+import org.springframework.boot.context.properties.bind.BindConverterCache.ResolvableTypeDescriptor;
 import org.springframework.boot.convert.ApplicationConversionService;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.convert.ConversionException;
@@ -42,7 +44,8 @@ import org.springframework.util.Assert;
 
 /**
  * Utility to handle any conversion needed during binding. This class is not thread-safe
- * and so a new instance is created for each top-level bind.
+ * and so a new instance is created for each top-level bind. The conversions it resolves
+ * are kept in the {@link BindConverterCache} of the {@link Binder}.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
@@ -56,14 +59,22 @@ class BindConverter {
 		EXCLUDED_EDITORS = Collections.unmodifiableSet(excluded);
 	}
 
-	private final ConversionService conversionService;
+	private final CompositeConversionService conversionService;
+
+	private final BindConverterCache cache;
+
+	private final boolean defaultPropertyEditors;
 
 	BindConverter(ConversionService conversionService,
-			Consumer<PropertyEditorRegistry> propertyEditorInitializer) {
+			Consumer<PropertyEditorRegistry> propertyEditorInitializer,
+			BindConverterCache cache) {
 		Assert.notNull(conversionService, "ConversionService must not be null");
+		Assert.notNull(cache, "Cache must not be null");
 		List<ConversionService> conversionServices = getConversionServices(
 				conversionService, propertyEditorInitializer);
 		this.conversionService = new CompositeConversionService(conversionServices);
+		this.cache = cache;
+		this.defaultPropertyEditors = (propertyEditorInitializer == null);
 	}
 
 	private List<ConversionService> getConversionServices(
@@ -80,8 +91,12 @@ class BindConverter {
 
 	public boolean canConvert(Object value, ResolvableType type,
 			Annotation... annotations) {
-		return this.conversionService.canConvert(TypeDescriptor.forObject(value),
-				new ResolvableTypeDescriptor(type, annotations));
+		if (value == null) {
+			return this.conversionService.canConvert(null,
+					new ResolvableTypeDescriptor(type, annotations));
+		}
+		Conversion conversion = this.cache.get(value.getClass(), type, annotations);
+		return getService(conversion) < this.conversionService.size();
 	}
 
 	public <T> T convert(Object result, Bindable<T> target) {
@@ -93,20 +108,41 @@ class BindConverter {
 		if (value == null) {
 			return null;
 		}
-		return (T) this.conversionService.convert(value, TypeDescriptor.forObject(value),
-				new ResolvableTypeDescriptor(type, annotations));
+		Conversion conversion = this.cache.get(value.getClass(), type, annotations);
+		int service = getService(conversion);
+		DirectStringConverter directConverter = conversion.getDirectConverter();
+		if (directConverter != null) {
+			Object converted = directConverter.convert((String) value);
+			if (converted != null) {
+				return (T) converted;
+			}
+		}
+		return (T) this.conversionService.convert(value, conversion.getSourceType(),
+				conversion.getTargetType(), service);
 	}
 
-	/**
-	 * A {@link TypeDescriptor} backed by a {@link ResolvableType}.
-	 */
-	private static class ResolvableTypeDescriptor extends TypeDescriptor {
-
-		ResolvableTypeDescriptor(ResolvableType resolvableType,
-				Annotation[] annotations) {
-			super(resolvableType, null, annotations);
+	private int getService(Conversion conversion) {
+		int service = conversion.getService();
+		if (service == Conversion.UNRESOLVED) {
+			// Every BindConverter of a Binder has the same services
+			TypeDescriptor sourceType = conversion.getSourceType();
+			TypeDescriptor targetType = conversion.getTargetType();
+			service = this.conversionService.getService(sourceType, targetType);
+			conversion.resolve(service, getDirectConverter(sourceType, targetType,
+					service));
 		}
+		return service;
+	}
 
+	private DirectStringConverter getDirectConverter(TypeDescriptor sourceType,
+			TypeDescriptor targetType, int service) {
+		if (sourceType.getType() != String.class
+				|| service >= this.conversionService.size()) {
+			return null;
+		}
+		return DirectStringConverter.get(targetType,
+				this.conversionService.getDelegate(service),
+				service == 0 && this.defaultPropertyEditors);
 	}
 
 	/**
@@ -149,7 +185,54 @@ class BindConverter {
 		@Override
 		public Object convert(Object source, TypeDescriptor sourceType,
 				TypeDescriptor targetType) {
-			for (int i = 0; i < this.delegates.size() - 1; i++) {
+			return convert(source, sourceType, targetType, 0, false);
+		}
+
+		ConversionService getDelegate(int index) {
+			return this.delegates.get(index);
+		}
+
+		/**
+		 * Return the number of delegate services.
+		 */
+		int size() {
+			return this.delegates.size();
+		}
+
+		/**
+		 * Return the index of the first delegate that can convert between the given
+		 * types, or {@link #size()} if none can.
+		 */
+		int getService(TypeDescriptor sourceType, TypeDescriptor targetType) {
+			for (int i = 0; i < this.delegates.size(); i++) {
+				if (this.delegates.get(i).canConvert(sourceType, targetType)) {
+					return i;
+				}
+			}
+			return this.delegates.size();
+		}
+
+		/**
+		 * Convert with the delegate at the given index, as returned by
+		 * {@link #getService}, trying the following delegates if it fails.
+		 */
+		Object convert(Object source, TypeDescriptor sourceType,
+				TypeDescriptor targetType, int service) {
+			return convert(source, sourceType, targetType, service, true);
+		}
+
+		private Object convert(Object source, TypeDescriptor sourceType,
+				TypeDescriptor targetType, int start, boolean resolved) {
+			if (resolved && start < this.delegates.size() - 1) {
+				try {
+					return this.delegates.get(start).convert(source, sourceType,
+							targetType);
+				}
+				catch (ConversionException ex) {
+				}
+				start++;
+			}
+			for (int i = start; i < this.delegates.size() - 1; i++) {
 				try {
 					ConversionService delegate = this.delegates.get(i);
 					if (delegate.canConvert(sourceType, targetType)) {
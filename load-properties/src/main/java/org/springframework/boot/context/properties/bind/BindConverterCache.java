@@ -0,0 +1,203 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.bind;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+
+import org.springframework.boot.util.ConcurrentLruCache;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.convert.TypeDescriptor;
+
+/**
+ * Bounded cache of the conversions resolved by the {@link BindConverter BindConverters}
+ * of a {@link Binder}, keyed by source class, target type and target annotations. Each
+ * entry holds the type descriptors of the conversion, the conversion service that
+ * handles it and, for {@link String} values of common types, a
+ * {@link DirectStringConverter}, so that converting a value of a known shape needs
+ * neither new descriptors nor a search of the conversion services. The least recently
+ * used entries are evicted once the cache is full. The conversion services of the
+ * {@link Binder} are expected not to gain or lose converters once it is used.
+ *
+ * @author roc
+ * @see Binder#getConverterCache()
+ */
+public final class BindConverterCache {
+
+	static final int DEFAULT_MAX_SIZE = 1024;
+
+	private final ConcurrentLruCache<Key, Conversion> conversions;
+
+	BindConverterCache(int maxSize) {
+		this.conversions = new ConcurrentLruCache<>(maxSize, Conversion::new);
+	}
+
+	Conversion get(Class<?> sourceType, ResolvableType targetType,
+			Annotation[] annotations) {
+		return this.conversions.get(new Key(sourceType, targetType, annotations));
+	}
+
+	/**
+	 * Return the number of conversions that found a cached entry.
+	 * @return the hit count
+	 */
+	public long getHitCount() {
+		return this.conversions.getHitCount();
+	}
+
+	/**
+	 * Return the number of conversions that had to be resolved.
+	 * @return the miss count
+	 */
+	public long getMissCount() {
+		return this.conversions.getMissCount();
+	}
+
+	/**
+	 * Return the ratio of conversions that found a cached entry.
+	 * @return the hit rate, between {@code 0.0} and {@code 1.0}
+	 */
+	public double getHitRate() {
+		return this.conversions.getHitRate();
+	}
+
+	/**
+	 * Return a short description of the cache usage.
+	 * @return the summary
+	 */
+	public String getSummary() {
+		return this.conversions.getSummary();
+	}
+
+	@Override
+	public String toString() {
+		return getSummary();
+	}
+
+	/**
+	 * A conversion from a source class to a target type.
+	 */
+	static final class Conversion {
+
+		static final int UNRESOLVED = -1;
+
+		private final TypeDescriptor sourceType;
+
+		private final TypeDescriptor targetType;
+
+		private DirectStringConverter directConverter;
+
+		private volatile int service = UNRESOLVED;
+
+		Conversion(Key key) {
+			this.sourceType = TypeDescriptor.valueOf(key.sourceType);
+			this.targetType = new ResolvableTypeDescriptor(key.targetType,
+					key.annotations);
+		}
+
+		TypeDescriptor getSourceType() {
+			return this.sourceType;
+		}
+
+		TypeDescriptor getTargetType() {
+			return this.targetType;
+		}
+
+		/**
+		 * Return the index of the first conversion service that can convert, the number
+		 * of services if none can, or {@link #UNRESOLVED}.
+		 */
+		int getService() {
+			return this.service;
+		}
+
+		/**
+		 * Return the converter of {@link String} values that replaces the conversion
+		 * service, only valid once the service is resolved.
+		 */
+		DirectStringConverter getDirectConverter() {
+			return this.directConverter;
+		}
+
+		void resolve(int service, DirectStringConverter directConverter) {
+			this.directConverter = directConverter;
+			this.service = service;
+		}
+
+	}
+
+	/**
+	 * A {@link TypeDescriptor} backed by a {@link ResolvableType}.
+	 */
+	static class ResolvableTypeDescriptor extends TypeDescriptor {
+
+		ResolvableTypeDescriptor(ResolvableType resolvableType,
+				Annotation[] annotations) {
+			super(resolvableType, null, annotations);
+		}
+
+	}
+
+	/**
+	 * Key of a {@link Conversion}. Annotations are hashed by identity since they are
+	 * usually the same instances and their own hash code is computed reflectively.
+	 */
+	private static final class Key {
+
+		private final Class<?> sourceType;
+
+		private final ResolvableType targetType;
+
+		private final Annotation[] annotations;
+
+		private final int hashCode;
+
+		Key(Class<?> sourceType, ResolvableType targetType, Annotation[] annotations) {
+			this.sourceType = sourceType;
+			this.targetType = targetType;
+			this.annotations = annotations;
+			int hashCode = sourceType.hashCode() * 31 + targetType.hashCode();
+			if (annotations != null) {
+				for (Annotation annotation : annotations) {
+					hashCode = hashCode * 31 + System.identityHashCode(annotation);
+				}
+			}
+			this.hashCode = hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return this.sourceType == other.sourceType
+					&& this.targetType.equals(other.targetType)
+					&& Arrays.equals(this.annotations, other.annotations);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+	}
+
+}
@@ -35,6 +35,7 @@ import java.util.stream.StreamSupport;
 import org.springframework.beans.PropertyEditorRegistry;
 import org.springframework.boot.context.properties.source.ConfigurationProperty;
 import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyNameCache;
 import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
 import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
 import org.springframework.boot.context.properties.source.ConfigurationPropertyState;
@@ -75,6 +76,9 @@ public class Binder {
 
 	private final Consumer<PropertyEditorRegistry> propertyEditorInitializer;
 
+	private final BindConverterCache converterCache = new BindConverterCache(
+			BindConverterCache.DEFAULT_MAX_SIZE);
+
 	/**
 	 * Create a new {@link Binder} instance for the specified sources. A
 	 * {@link DefaultFormattingConversionService} will be used for all conversion.
@@ -139,6 +143,15 @@ public class Binder {
 		this.propertyEditorInitializer = propertyEditorInitializer;
 	}
 
+	/**
+	 * Return the cache of the conversions resolved by this binder, for example to
+	 * inspect its hit rate.
+	 * @return the converter cache
+	 */
+	public BindConverterCache getConverterCache() {
+		return this.converterCache;
+	}
+
 	/**
 	 * Bind the specified target {@link Class} using this binder's
 	 * {@link ConfigurationPropertySource property sources}.
@@ -162,7 +175,7 @@ public class Binder {
 	 * @see #bind(ConfigurationPropertyName, Bindable, BindHandler)
 	 */
 	public <T> BindResult<T> bind(String name, Bindable<T> target) {
-		return bind(ConfigurationPropertyName.of(name), target, null);
+		return bind(ConfigurationPropertyNameCache.shared().of(name), target, null);
 	}
 
 	/**
@@ -188,7 +201,7 @@ public class Binder {
 	 * @return the binding result (never {@code null})
 	 */
 	public <T> BindResult<T> bind(String name, Bindable<T> target, BindHandler handler) {
-		return bind(ConfigurationPropertyName.of(name), target, handler);
+		return bind(ConfigurationPropertyNameCache.shared().of(name), target, handler);
 	}
 
 	/**
@@ -205,7 +218,7 @@ public class Binder {
 		Assert.notNull(name, "Name must not be null");
 		Assert.notNull(target, "Target must not be null");
 		handler = (handler != null) ? handler : BindHandler.DEFAULT;
-		Context context = new Context();
+		Context context = new Context(handler);
 		T bound = bind(name, target, handler, context, false);
 		return BindResult.of(bound);
 	}
@@ -330,7 +343,8 @@ public class Binder {
 			return null;
 		}
 		BeanPropertyBinder propertyBinder = (propertyName, propertyTarget) -> bind(
-				name.append(propertyName), propertyTarget, handler, context, false);
+				ConfigurationPropertyNameCache.shared().append(name, propertyName),
+				propertyTarget, handler, context, false);
 		Class<?> type = target.getType().resolve(Object.class);
 		if (!allowRecursiveBinding && context.hasBoundBean(type)) {
 			return null;
@@ -381,6 +395,8 @@ public class Binder {
 
 		private final BindConverter converter;
 
+		private final BindHandler handler;
+
 		private int depth;
 
 		private final List<ConfigurationPropertySource> source = Arrays
@@ -392,9 +408,10 @@ public class Binder {
 
 		private ConfigurationProperty configurationProperty;
 
-		Context() {
+		Context(BindHandler handler) {
 			this.converter = new BindConverter(Binder.this.conversionService,
-					Binder.this.propertyEditorInitializer);
+					Binder.this.propertyEditorInitializer, Binder.this.converterCache);
+			this.handler = handler;
 		}
 
 		private void increaseDepth() {
@@ -444,7 +461,7 @@ public class Binder {
 			}
 		}
 
-		private void setConfigurationProperty(
+		void setConfigurationProperty(
 				ConfigurationProperty configurationProperty) {
 			this.configurationProperty = configurationProperty;
 		}
@@ -460,6 +477,30 @@ public class Binder {
 			return StreamSupport.stream(Binder.this.sources.spliterator(), false);
 		}
 
+		/**
+		 * Return the handler of the binding, shared by all the nested bindings.
+		 * @return the bind handler
+		 */
+		BindHandler getHandler() {
+			return this.handler;
+		}
+
+		/**
+		 * Bind the given property, found for a name with no earlier source having one,
+		 * to a target that is not an aggregate or a bean, the same way as binding the
+		 * name with the default handler does.
+		 * @param property the property to bind
+		 * @param target the target bindable
+		 * @return the bound value or {@code null}
+		 */
+		<T> T bindProperty(ConfigurationProperty property, Bindable<T> target) {
+			Object result = Binder.this.bindProperty(target, this, property);
+			if (result != null) {
+				result = this.converter.convert(result, target);
+			}
+			return this.converter.convert(result, target);
+		}
+
 		public PlaceholdersResolver getPlaceholdersResolver() {
 			return Binder.this.placeholdersResolver;
 		}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.bind;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.convert.DurationFormat;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.convert.DurationUnit;
+import org.springframework.boot.convert.EnumConstantLookup;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.util.NumberUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Converts {@link String} values to the most commonly bound types (numbers, booleans,
+ * {@link Duration Durations} and enums) without searching the conversion services. Each
+ * converter produces exactly the value of the conversion it replaces, and returns
+ * {@code null} for values it does not handle (for example empty or invalid values) so
+ * that they are converted as usual, failures included.
+ *
+ * @author roc
+ * @see BindConverter
+ */
+abstract class DirectStringConverter {
+
+	/**
+	 * Convert the given value.
+	 * @param value the value to convert
+	 * @return the converted value or {@code null} if the value must be converted by the
+	 * conversion services
+	 */
+	abstract Object convert(String value);
+
+	/**
+	 * Return a converter replacing the conversion of {@link String} values to the given
+	 * type by the given conversion service.
+	 * @param targetType the target type
+	 * @param service the conversion service that handles the conversion
+	 * @param propertyEditors if the service converts with the default property editors
+	 * @return the converter or {@code null}
+	 */
+	static DirectStringConverter get(TypeDescriptor targetType, ConversionService service,
+			boolean propertyEditors) {
+		Class<?> type = targetType.getType();
+		if (propertyEditors) {
+			return getPropertyEditorConverter(type);
+		}
+		if (service != ApplicationConversionService.getSharedInstance()) {
+			return null;
+		}
+		if (type == Duration.class) {
+			DurationFormat format = targetType.getAnnotation(DurationFormat.class);
+			DurationUnit unit = targetType.getAnnotation(DurationUnit.class);
+			return new DurationConverter((format != null) ? format.value() : null,
+					(unit != null) ? unit.value() : null);
+		}
+		Class<?> enumType = type;
+		while (enumType != null && !enumType.isEnum()) {
+			enumType = enumType.getSuperclass();
+		}
+		return (enumType != null) ? new EnumConverter(EnumConstantLookup.get(enumType))
+				: null;
+	}
+
+	/**
+	 * Return a converter matching the default editors of a
+	 * {@link org.springframework.beans.SimpleTypeConverter}.
+	 */
+	private static DirectStringConverter getPropertyEditorConverter(Class<?> type) {
+		if (type == int.class || type == Integer.class) {
+			return new NumberConverter(Integer.class, type.isPrimitive());
+		}
+		if (type == long.class || type == Long.class) {
+			return new NumberConverter(Long.class, type.isPrimitive());
+		}
+		if (type == double.class || type == Double.class) {
+			return new NumberConverter(Double.class, type.isPrimitive());
+		}
+		if (type == boolean.class || type == Boolean.class) {
+			return new BooleanConverter(type.isPrimitive());
+		}
+		return null;
+	}
+
+	/**
+	 * Same as {@link org.springframework.beans.propertyeditors.CustomNumberEditor}.
+	 */
+	private static final class NumberConverter extends DirectStringConverter {
+
+		private final Class<? extends Number> type;
+
+		private final boolean primitive;
+
+		NumberConverter(Class<? extends Number> type, boolean primitive) {
+			this.type = type;
+			this.primitive = primitive;
+		}
+
+		@Override
+		Object convert(String value) {
+			if (!this.primitive && !StringUtils.hasText(value)) {
+				return null;
+			}
+			try {
+				return NumberUtils.parseNumber(value, this.type);
+			}
+			catch (RuntimeException ex) {
+				return null;
+			}
+		}
+
+	}
+
+	/**
+	 * Same as {@link org.springframework.beans.propertyeditors.CustomBooleanEditor}.
+	 */
+	private static final class BooleanConverter extends DirectStringConverter {
+
+		private final boolean primitive;
+
+		BooleanConverter(boolean primitive) {
+			this.primitive = primitive;
+		}
+
+		@Override
+		Object convert(String value) {
+			String input = value.trim();
+			if (!this.primitive && input.isEmpty()) {
+				return null;
+			}
+			if (input.equalsIgnoreCase("true") || input.equalsIgnoreCase("on")
+					|| input.equalsIgnoreCase("yes") || input.equals("1")) {
+				return Boolean.TRUE;
+			}
+			if (input.equalsIgnoreCase("false") || input.equalsIgnoreCase("off")
+					|| input.equalsIgnoreCase("no") || input.equals("0")) {
+				return Boolean.FALSE;
+			}
+			return null;
+		}
+
+	}
+
+	/**
+	 * Same as {@code StringToDurationConverter}.
+	 */
+	private static final class DurationConverter extends DirectStringConverter {
+
+		private final DurationStyle style;
+
+		private final ChronoUnit unit;
+
+		DurationConverter(DurationStyle style, ChronoUnit unit) {
+			this.style = style;
+			this.unit = unit;
+		}
+
+		@Override
+		Object convert(String value) {
+			if (value.isEmpty()) {
+				return null;
+			}
+			try {
+				DurationStyle style = (this.style != null) ? this.style
+						: DurationStyle.detect(value);
+				return style.parse(value, this.unit);
+			}
+			catch (RuntimeException ex) {
+				return null;
+			}
+		}
+
+	}
+
+	/**
+	 * Same as {@code StringToEnumIgnoringCaseConverterFactory}.
+	 */
+	private static final class EnumConverter extends DirectStringConverter {
+
+		private final EnumConstantLookup lookup;
+
+		EnumConverter(EnumConstantLookup lookup) {
+			this.lookup = lookup;
+		}
+
+		@Override
+		Object convert(String value) {
+			return value.isEmpty() ? null : this.lookup.find(value.trim());
+		}
+
+	}
+
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.bind;
+
+import java.lang.annotation.Annotation;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.boot.context.properties.bind.Binder.Context;
+import org.springframework.boot.context.properties.source.ConfigurationProperty;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyNameCache;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.util.Assert;
+
+/**
+ * Binder for a single Java Bean type, generated at compile time by the
+ * {@code load-properties-processor} annotation processor. A generated binder creates
+ * the bean and reads and writes its properties with direct calls, so that binding the
+ * type needs no introspection or reflection. It follows the same rules as binding the
+ * bean with reflection.
+ * <p>
+ * A generated binder is named after the bean type with a {@value #SUFFIX} suffix, with
+ * {@code '$'} replaced by {@code '_'} for nested types, and must have a public no-arg
+ * constructor. The {@link Binder} uses the generated binder of a bean type when it is
+ * present and binds the bean with reflection otherwise.
+ *
+ * @param <T> the bean type
+ * @author roc
+ */
+public abstract class GeneratedBeanBinder<T> {
+
+	/**
+	 * The suffix of the name of a generated binder class.
+	 */
+	public static final String SUFFIX = "_PropertiesBinder";
+
+	/**
+	 * Create a new instance of the bean.
+	 * @return the new instance
+	 */
+	protected abstract T createInstance();
+
+	/**
+	 * Bind the properties of the bean.
+	 * @param properties the properties of the bean being bound
+	 * @return if any property was bound
+	 */
+	protected abstract boolean bindProperties(Properties<T> properties);
+
+	/**
+	 * Return the annotations declared on a field of the bean, or {@code null} if they
+	 * cannot be read.
+	 * @param type the class declaring the field
+	 * @param name the name of the field
+	 * @return the annotations or {@code null}
+	 */
+	protected static Annotation[] getFieldAnnotations(Class<?> type, String name) {
+		try {
+			return type.getDeclaredField(name).getDeclaredAnnotations();
+		}
+		catch (Exception ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * Return the name of the generated binder class of the given type.
+	 * @param type the bean type
+	 * @return the name of the binder class
+	 */
+	public static String getBinderClassName(Class<?> type) {
+		String name = type.getName();
+		int packageEnd = name.lastIndexOf('.') + 1;
+		return name.substring(0, packageEnd) + name.substring(packageEnd).replace('$', '_')
+				+ SUFFIX;
+	}
+
+	/**
+	 * Find the generated binder of the given type.
+	 * @param type the bean type
+	 * @return the generated binder or {@code null}
+	 */
+	static GeneratedBeanBinder<?> find(Class<?> type) {
+		ClassLoader classLoader = type.getClassLoader();
+		if (classLoader == null) {
+			return null;
+		}
+		try {
+			Class<?> binderClass = Class.forName(getBinderClassName(type), true,
+					classLoader);
+			if (!GeneratedBeanBinder.class.isAssignableFrom(binderClass)) {
+				return null;
+			}
+			return (GeneratedBeanBinder<?>) binderClass.getConstructor().newInstance();
+		}
+		catch (Exception | LinkageError ex) {
+			// No binder, or one that does not match the bean type
+			return null;
+		}
+	}
+
+	/**
+	 * The properties of a bean being bound by a {@link GeneratedBeanBinder}.
+	 *
+	 * @param <T> the bean type
+	 */
+	public static final class Properties<T> {
+
+		private final ConfigurationPropertyName name;
+
+		private final Context context;
+
+		private final Supplier<T> instance;
+
+		private final BeanPropertyBinder propertyBinder;
+
+		Properties(ConfigurationPropertyName name, Context context, Supplier<T> instance,
+				BeanPropertyBinder propertyBinder) {
+			this.name = name;
+			this.context = context;
+			this.instance = instance;
+			this.propertyBinder = propertyBinder;
+		}
+
+		/**
+		 * Bind a property of the bean.
+		 * @param <V> the property type
+		 * @param name the property name (in lowercase dashed form, e.g.
+		 * {@code first-name})
+		 * @param target the bindable of the property type
+		 * @param annotations the annotations of the field of the property or
+		 * {@code null}
+		 * @param getter the getter of the property or {@code null}
+		 * @param setter the setter of the property or {@code null}
+		 * @return if the property was bound
+		 */
+		public <V> boolean bind(String name, Bindable<V> target, Annotation[] annotations,
+				Function<T, V> getter, BiConsumer<T, V> setter) {
+			Assert.notNull(name, "Name must not be null");
+			Assert.notNull(target, "Target must not be null");
+			Supplier<V> value = (getter != null) ? () -> getValue(name, getter) : null;
+			Object bound = this.propertyBinder.bindProperty(name,
+					target.withSuppliedValue(value).withAnnotations(annotations));
+			return setBound(name, bound, value, setter);
+		}
+
+		/**
+		 * Bind a scalar property of the bean, such as a {@code String}, a primitive or an
+		 * enum. With the default handler, a property present in the sources is read and
+		 * converted directly the same way as {@link #bind} does, without going through
+		 * the {@link Binder}. Otherwise, or if the conversion fails, the property is
+		 * bound with {@link #bind} so that it is handled as usual.
+		 * @param <V> the property type
+		 * @param name the property name (in lowercase dashed form, e.g.
+		 * {@code first-name})
+		 * @param target the bindable of the property type, with the annotations of the
+		 * field of the property
+		 * @param getter the getter of the property or {@code null}
+		 * @param setter the setter of the property or {@code null}
+		 * @return if the property was bound
+		 */
+		public <V> boolean bindValue(String name, Bindable<V> target,
+				Function<T, V> getter, BiConsumer<T, V> setter) {
+			Assert.notNull(name, "Name must not be null");
+			Assert.notNull(target, "Target must not be null");
+			if (this.context.getHandler() == BindHandler.DEFAULT) {
+				ConfigurationProperty property = findProperty(name);
+				if (property != null) {
+					Object bound;
+					try {
+						bound = this.context.bindProperty(property, target);
+					}
+					catch (RuntimeException ex) {
+						return bind(name, target, target.getAnnotations(), getter, setter);
+					}
+					Supplier<V> value = (setter == null && getter != null)
+							? () -> getValue(name, getter) : null;
+					return setBound(name, bound, value, setter);
+				}
+			}
+			return bind(name, target, target.getAnnotations(), getter, setter);
+		}
+
+		private ConfigurationProperty findProperty(String name) {
+			ConfigurationPropertyName propertyName = ConfigurationPropertyNameCache
+					.shared().append(this.name, name);
+			for (ConfigurationPropertySource source : this.context.getSources()) {
+				ConfigurationProperty property = source
+						.getConfigurationProperty(propertyName);
+				if (property != null) {
+					return property;
+				}
+			}
+			return null;
+		}
+
+		private <V> boolean setBound(String name, Object bound, Supplier<V> value,
+				BiConsumer<T, V> setter) {
+			if (bound == null) {
+				return false;
+			}
+			if (setter != null) {
+				setValue(name, setter, bound);
+			}
+			else if (value == null || !bound.equals(value.get())) {
+				throw new IllegalStateException("No setter found for property: " + name);
+			}
+			return true;
+		}
+
+		private <V> V getValue(String name, Function<T, V> getter) {
+			try {
+				return getter.apply(this.instance.get());
+			}
+			catch (Exception ex) {
+				throw new IllegalStateException(
+						"Unable to get value for property " + name, ex);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		private <V> void setValue(String name, BiConsumer<T, V> setter, Object value) {
+			try {
+				setter.accept(this.instance.get(), (V) value);
+			}
+			catch (Exception ex) {
+				throw new IllegalStateException(
+						"Unable to set value for property " + name, ex);
+			}
+		}
+
+	}
+
+}
@@ -17,21 +17,21 @@
 package org.springframework.boot.context.properties.bind;
 
 import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.List;
+import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 import org.springframework.boot.context.properties.bind.Binder.Context;
 import org.springframework.boot.context.properties.source.ConfigurationProperty;
 import org.springframework.boot.context.properties.source.ConfigurationPropertyName;
-import org.springframework.boot.context.properties.source.ConfigurationPropertyName.Form;
+import org.springframework.boot.context.properties.source.ConfigurationPropertyNameCache;
 import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
 import org.springframework.boot.context.properties.source.IterableConfigurationPropertySource;
 import org.springframework.core.ResolvableType;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
 
 /**
@@ -46,6 +46,8 @@ abstract class IndexedElementsBinder<T> extends AggregateBinder<T> {
 
 	private static final String INDEX_ZERO = "[0]";
 
+	private static final int CACHED_INDEXES = 256;
+
 	IndexedElementsBinder(Context context) {
 		super(context);
 	}
@@ -105,46 +107,72 @@ abstract class IndexedElementsBinder<T> extends AggregateBinder<T> {
 	private void bindIndexed(ConfigurationPropertySource source,
 			ConfigurationPropertyName root, AggregateElementBinder elementBinder,
 			IndexedCollectionSupplier collection, ResolvableType elementType) {
-		MultiValueMap<String, ConfigurationProperty> knownIndexedChildren = getKnownIndexedChildren(
-				source, root);
+		Bindable<Object> elementTarget = Bindable.of(elementType);
+		if (source instanceof IterableConfigurationPropertySource) {
+			bindIndexed((IterableConfigurationPropertySource) source, root,
+					elementBinder, collection, elementTarget);
+			return;
+		}
 		for (int i = 0; i < Integer.MAX_VALUE; i++) {
-			ConfigurationPropertyName name = root
-					.append((i != 0) ? "[" + i + "]" : INDEX_ZERO);
-			Object value = elementBinder.bind(name, Bindable.of(elementType), source);
+			Object value = elementBinder.bind(getElementName(root, i), elementTarget,
+					source);
 			if (value == null) {
 				break;
 			}
-			knownIndexedChildren.remove(name.getLastElement(Form.UNIFORM));
 			collection.get().add(value);
 		}
-		assertNoUnboundChildren(knownIndexedChildren);
 	}
 
-	private MultiValueMap<String, ConfigurationProperty> getKnownIndexedChildren(
-			ConfigurationPropertySource source, ConfigurationPropertyName root) {
-		MultiValueMap<String, ConfigurationProperty> children = new LinkedMultiValueMap<>();
-		if (!(source instanceof IterableConfigurationPropertySource)) {
-			return children;
-		}
-		for (ConfigurationPropertyName name : (IterableConfigurationPropertySource) source
-				.filter(root::isAncestorOf)) {
-			ConfigurationPropertyName choppedName = name
-					.chop(root.getNumberOfElements() + 1);
-			if (choppedName.isLastElementIndexed()) {
-				String key = choppedName.getLastElement(Form.UNIFORM);
-				ConfigurationProperty value = source.getConfigurationProperty(name);
-				children.add(key, value);
+	/**
+	 * Bind the elements of an iterable source, whose indexed children are enumerated
+	 * once so that only the indexes present in the source are bound.
+	 */
+	private void bindIndexed(IterableConfigurationPropertySource source,
+			ConfigurationPropertyName root, AggregateElementBinder elementBinder,
+			IndexedCollectionSupplier collection, Bindable<Object> elementTarget) {
+		IndexedChildren children = new IndexedChildren(source, root);
+		collection.setInitialCapacity(children.getCount());
+		int bound = 0;
+		while (bound < children.getCount()) {
+			Object value = elementBinder.bind(getElementName(root, bound),
+					elementTarget, source);
+			if (value == null) {
+				break;
 			}
+			collection.get().add(value);
+			bound++;
+		}
+		if (children.hasUnbound(bound)) {
+			assertNoUnboundChildren(source, root, bound);
 		}
-		return children;
 	}
 
-	private void assertNoUnboundChildren(
-			MultiValueMap<String, ConfigurationProperty> children) {
-		if (!children.isEmpty()) {
-			throw new UnboundConfigurationPropertiesException(
-					children.values().stream().flatMap(List::stream)
-							.collect(Collectors.toCollection(TreeSet::new)));
+	private ConfigurationPropertyName getElementName(ConfigurationPropertyName root,
+			int index) {
+		if (index == 0) {
+			return ConfigurationPropertyNameCache.shared().append(root, INDEX_ZERO);
+		}
+		String element = "[" + index + "]";
+		// Do not flood the shared cache with the elements of very large lists
+		return (index < CACHED_INDEXES)
+				? ConfigurationPropertyNameCache.shared().append(root, element)
+				: root.append(element);
+	}
+
+	private void assertNoUnboundChildren(IterableConfigurationPropertySource source,
+			ConfigurationPropertyName root, int bound) {
+		Set<ConfigurationProperty> unbound = new TreeSet<>();
+		int elementIndex = root.getNumberOfElements();
+		for (ConfigurationPropertyName name : source.filterDescendantsOf(root)) {
+			if (name.chop(elementIndex + 1).isLastElementIndexed()) {
+				int index = name.getArrayIndex(elementIndex);
+				if (index < 0 || index >= bound) {
+					unbound.add(source.getConfigurationProperty(name));
+				}
+			}
+		}
+		if (!unbound.isEmpty()) {
+			throw new UnboundConfigurationPropertiesException(unbound);
 		}
 	}
 
@@ -153,6 +181,95 @@ abstract class IndexedElementsBinder<T> extends AggregateBinder<T> {
 		return getContext().getConverter().convert(value, type, annotations);
 	}
 
+	/**
+	 * The indexed children of a name in an iterable source, enumerated once. Children
+	 * whose element is a plain number (e.g. {@code foo.0}) are the same elements as
+	 * their indexed form ({@code foo[0]}) and are bound along with them, but only the
+	 * indexed form is reported when left unbound.
+	 */
+	private static final class IndexedChildren {
+
+		private final int count;
+
+		private final boolean hasOthers;
+
+		private final BitSet indexes;
+
+		IndexedChildren(IterableConfigurationPropertySource source,
+				ConfigurationPropertyName root) {
+			int elementIndex = root.getNumberOfElements();
+			int[] indexed = new int[16];
+			int indexedSize = 0;
+			int[] numbered = new int[16];
+			int numberedSize = 0;
+			boolean hasOthers = false;
+			for (ConfigurationPropertyName name : source.filterDescendantsOf(root)) {
+				if (name.isNumericIndex(elementIndex)) {
+					int index = name.getArrayIndex(elementIndex);
+					if (index >= 0) {
+						indexed = add(indexed, indexedSize++, index);
+					}
+					else {
+						hasOthers = true;
+					}
+				}
+				else if (name.chop(elementIndex + 1).isLastElementIndexed()) {
+					hasOthers = true;
+				}
+				else {
+					int index = name.getArrayIndex(elementIndex);
+					if (index >= 0) {
+						numbered = add(numbered, numberedSize++, index);
+					}
+				}
+			}
+			// A run of indexes from zero cannot be longer than the number of names
+			int size = indexedSize + numberedSize;
+			BitSet present = new BitSet(size);
+			BitSet indexes = new BitSet(indexedSize);
+			for (int i = 0; i < indexedSize; i++) {
+				if (indexed[i] < size) {
+					present.set(indexed[i]);
+					indexes.set(indexed[i]);
+				}
+				else {
+					hasOthers = true;
+				}
+			}
+			for (int i = 0; i < numberedSize; i++) {
+				if (numbered[i] < size) {
+					present.set(numbered[i]);
+				}
+			}
+			this.count = present.nextClearBit(0);
+			this.hasOthers = hasOthers;
+			this.indexes = indexes;
+		}
+
+		private static int[] add(int[] array, int size, int value) {
+			int[] result = (size < array.length) ? array
+					: Arrays.copyOf(array, size << 1);
+			result[size] = value;
+			return result;
+		}
+
+		/**
+		 * Return the number of consecutive indexes present, starting from zero.
+		 */
+		int getCount() {
+			return this.count;
+		}
+
+		/**
+		 * Return if some children in indexed form remain once the given number of
+		 * elements has been bound.
+		 */
+		boolean hasUnbound(int bound) {
+			return this.hasOthers || this.indexes.nextSetBit(bound) >= 0;
+		}
+
+	}
+
 	/**
 	 * {@link AggregateSupplier AggregateSupplier} for an indexed
 	 * collection.
@@ -160,8 +277,29 @@ abstract class IndexedElementsBinder<T> extends AggregateBinder<T> {
 	protected static class IndexedCollectionSupplier
 			extends AggregateSupplier<Collection<Object>> {
 
+		private final int[] initialCapacity;
+
 		public IndexedCollectionSupplier(Supplier<Collection<Object>> supplier) {
-			super(supplier);
+			this((initialCapacity) -> supplier.get());
+		}
+
+		/**
+		 * Create a new {@link IndexedCollectionSupplier} instance.
+		 * @param supplier the supplier of the collection, called with the expected
+		 * number of elements
+		 */
+		public IndexedCollectionSupplier(IntFunction<Collection<Object>> supplier) {
+			this(supplier, new int[1]);
+		}
+
+		private IndexedCollectionSupplier(IntFunction<Collection<Object>> supplier,
+				int[] initialCapacity) {
+			super(() -> supplier.apply(initialCapacity[0]));
+			this.initialCapacity = initialCapacity;
+		}
+
+		void setInitialCapacity(int initialCapacity) {
+			this.initialCapacity[0] = initialCapacity;
 		}
 
 	}
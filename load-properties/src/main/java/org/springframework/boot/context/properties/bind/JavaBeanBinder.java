@@ -18,6 +18,9 @@ package org.springframework.boot.context.properties.bind;
 
 import java.beans.Introspector;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
@@ -32,9 +35,13 @@ import org.springframework.boot.context.properties.source.ConfigurationPropertyN
 import org.springframework.boot.context.properties.source.ConfigurationPropertyState;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ResolvableType;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
- * {@link BeanBinder} for mutable Java Beans.
+ * {@link BeanBinder} for mutable Java Beans. Beans with a {@link GeneratedBeanBinder} are
+ * bound with it. For other beans, the properties of each bean type are introspected once
+ * and cached with the type, properties are then read and written with
+ * {@link MethodHandle MethodHandles}.
  *
  * @author Phillip Webb
  * @author Madhura Bhave
@@ -46,16 +53,20 @@ class JavaBeanBinder implements BeanBinder {
 			BeanPropertyBinder propertyBinder) {
 		boolean hasKnownBindableProperties = context.streamSources().anyMatch((
 				s) -> s.containsDescendantOf(name) == ConfigurationPropertyState.PRESENT);
-		Bean<T> bean = Bean.get(target, hasKnownBindableProperties);
-		if (bean == null) {
+		BeanType beanType = BeanType.get(target, hasKnownBindableProperties);
+		if (beanType == null) {
 			return null;
 		}
-		BeanSupplier<T> beanSupplier = bean.getSupplier(target);
-		boolean bound = bind(propertyBinder, bean, beanSupplier);
+		BeanSupplier<T> beanSupplier = beanType.getSupplier(target);
+		GeneratedBeanBinder<T> generatedBinder = beanType.getGeneratedBinder();
+		boolean bound = (generatedBinder != null)
+				? generatedBinder.bindProperties(new GeneratedBeanBinder.Properties<>(
+						name, context, beanSupplier, propertyBinder))
+				: bind(propertyBinder, beanType.getBean(target.getType()), beanSupplier);
 		return (bound ? beanSupplier.get() : null);
 	}
 
-	private <T> boolean bind(BeanPropertyBinder propertyBinder, Bean<T> bean,
+	private <T> boolean bind(BeanPropertyBinder propertyBinder, Bean<?> bean,
 			BeanSupplier<T> beanSupplier) {
 		boolean bound = false;
 		for (Map.Entry<String, BeanProperty> entry : bean.getProperties().entrySet()) {
@@ -90,17 +101,12 @@ class JavaBeanBinder implements BeanBinder {
 	 */
 	private static class Bean<T> {
 
-		private static Bean<?> cached;
-
-		private final Class<?> type;
-
 		private final ResolvableType resolvableType;
 
 		private final Map<String, BeanProperty> properties = new LinkedHashMap<>();
 
 		Bean(ResolvableType resolvableType, Class<?> type) {
 			this.resolvableType = resolvableType;
-			this.type = type;
 			putProperties(type);
 		}
 
@@ -155,46 +161,89 @@ class JavaBeanBinder implements BeanBinder {
 			}
 		}
 
-		public Class<?> getType() {
-			return this.type;
-		}
-
 		public Map<String, BeanProperty> getProperties() {
 			return this.properties;
 		}
 
+	}
+
+	/**
+	 * A bean type being bound, with its {@link GeneratedBeanBinder} if it has one and
+	 * otherwise the cached {@link Bean Beans} of the type, one for each
+	 * {@link ResolvableType} the type is bound as. Held by the type itself so that the
+	 * cache never keeps a class loader alive.
+	 */
+	private static class BeanType {
+
+		private static final ClassValue<BeanType> types = new ClassValue<BeanType>() {
+
+			@Override
+			protected BeanType computeValue(Class<?> type) {
+				return new BeanType(type);
+			}
+
+		};
+
+		private final Class<?> type;
+
+		private final boolean instantiable;
+
+		private final GeneratedBeanBinder<?> generatedBinder;
+
+		private final Map<ResolvableType, Bean<?>> beans = new ConcurrentReferenceHashMap<>(
+				4);
+
+		BeanType(Class<?> type) {
+			this.type = type;
+			this.instantiable = isInstantiable(type);
+			this.generatedBinder = this.instantiable ? GeneratedBeanBinder.find(type)
+					: null;
+		}
+
+		@SuppressWarnings("unchecked")
+		public <T> GeneratedBeanBinder<T> getGeneratedBinder() {
+			return (GeneratedBeanBinder<T>) this.generatedBinder;
+		}
+
+		public Bean<?> getBean(ResolvableType resolvableType) {
+			Bean<?> bean = this.beans.get(resolvableType);
+			if (bean == null) {
+				bean = new Bean<>(resolvableType, this.type);
+				Bean<?> existing = this.beans.putIfAbsent(resolvableType, bean);
+				bean = (existing != null) ? existing : bean;
+			}
+			return bean;
+		}
+
 		@SuppressWarnings("unchecked")
-		public BeanSupplier<T> getSupplier(Bindable<T> target) {
+		public <T> BeanSupplier<T> getSupplier(Bindable<T> target) {
 			return new BeanSupplier<>(() -> {
 				T instance = null;
 				if (target.getValue() != null) {
 					instance = target.getValue().get();
 				}
 				if (instance == null) {
-					instance = (T) BeanUtils.instantiateClass(this.type);
+					instance = (this.generatedBinder != null)
+							? (T) this.generatedBinder.createInstance()
+							: (T) BeanUtils.instantiateClass(this.type);
 				}
 				return instance;
 			});
 		}
 
-		@SuppressWarnings("unchecked")
-		public static <T> Bean<T> get(Bindable<T> bindable, boolean canCallGetValue) {
+		public static BeanType get(Bindable<?> bindable, boolean canCallGetValue) {
 			Class<?> type = bindable.getType().resolve(Object.class);
-			Supplier<T> value = bindable.getValue();
-			T instance = null;
+			Supplier<?> value = bindable.getValue();
+			Object instance = null;
 			if (canCallGetValue && value != null) {
 				instance = value.get();
 				type = (instance != null) ? instance.getClass() : type;
 			}
-			if (instance == null && !isInstantiable(type)) {
+			BeanType beanType = types.get(type);
+			if (instance == null && !beanType.instantiable) {
 				return null;
 			}
-			Bean<?> bean = Bean.cached;
-			if (bean == null || !type.equals(bean.getType())) {
-				bean = new Bean<>(bindable.getType(), type);
-				cached = bean;
-			}
-			return (Bean<T>) bean;
+			return beanType;
 		}
 
 		private static boolean isInstantiable(Class<?> type) {
@@ -237,6 +286,12 @@ class JavaBeanBinder implements BeanBinder {
 	 */
 	private static class BeanProperty {
 
+		private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class,
+				Object.class);
+
+		private static final MethodType SETTER_TYPE = MethodType.methodType(void.class,
+				Object.class, Object.class);
+
 		private final String name;
 
 		private final ResolvableType declaringClassType;
@@ -247,6 +302,14 @@ class JavaBeanBinder implements BeanBinder {
 
 		private Field field;
 
+		private volatile ResolvableType type;
+
+		private volatile Annotation[] annotations;
+
+		private volatile MethodHandle getterHandle;
+
+		private volatile MethodHandle setterHandle;
+
 		BeanProperty(String name, ResolvableType declaringClassType) {
 			this.name = BeanPropertyName.toDashedForm(name);
 			this.declaringClassType = declaringClassType;
@@ -275,6 +338,15 @@ class JavaBeanBinder implements BeanBinder {
 		}
 
 		public ResolvableType getType() {
+			ResolvableType type = this.type;
+			if (type == null) {
+				type = resolveType();
+				this.type = type;
+			}
+			return type;
+		}
+
+		private ResolvableType resolveType() {
 			if (this.setter != null) {
 				MethodParameter methodParameter = new MethodParameter(this.setter, 0);
 				return ResolvableType.forMethodParameter(methodParameter,
@@ -286,6 +358,15 @@ class JavaBeanBinder implements BeanBinder {
 		}
 
 		public Annotation[] getAnnotations() {
+			Annotation[] annotations = this.annotations;
+			if (annotations == null && this.field != null) {
+				annotations = getFieldAnnotations();
+				this.annotations = annotations;
+			}
+			return annotations;
+		}
+
+		private Annotation[] getFieldAnnotations() {
 			try {
 				return (this.field != null) ? this.field.getDeclaredAnnotations() : null;
 			}
@@ -300,10 +381,12 @@ class JavaBeanBinder implements BeanBinder {
 			}
 			return () -> {
 				try {
-					this.getter.setAccessible(true);
-					return this.getter.invoke(instance.get());
+					return (Object) getGetterHandle().invokeExact((Object) instance.get());
 				}
-				catch (Exception ex) {
+				catch (Error ex) {
+					throw ex;
+				}
+				catch (Throwable ex) {
 					throw new IllegalStateException(
 							"Unable to get value for property " + this.name, ex);
 				}
@@ -316,15 +399,41 @@ class JavaBeanBinder implements BeanBinder {
 
 		public void setValue(Supplier<?> instance, Object value) {
 			try {
-				this.setter.setAccessible(true);
-				this.setter.invoke(instance.get(), value);
+				getSetterHandle().invokeExact((Object) instance.get(), value);
 			}
-			catch (Exception ex) {
+			catch (Error ex) {
+				throw ex;
+			}
+			catch (Throwable ex) {
 				throw new IllegalStateException(
 						"Unable to set value for property " + this.name, ex);
 			}
 		}
 
+		private MethodHandle getGetterHandle() throws IllegalAccessException {
+			MethodHandle handle = this.getterHandle;
+			if (handle == null) {
+				handle = unreflect(this.getter).asType(GETTER_TYPE);
+				this.getterHandle = handle;
+			}
+			return handle;
+		}
+
+		private MethodHandle getSetterHandle() throws IllegalAccessException {
+			MethodHandle handle = this.setterHandle;
+			if (handle == null) {
+				handle = unreflect(this.setter).asType(SETTER_TYPE);
+				this.setterHandle = handle;
+			}
+			return handle;
+		}
+
+		private static MethodHandle unreflect(Method method)
+				throws IllegalAccessException {
+			method.setAccessible(true);
+			return MethodHandles.lookup().unreflect(method);
+		}
+
 	}
 
 }
@@ -16,10 +16,13 @@
 
 package org.springframework.boot.context.properties.bind;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.springframework.boot.context.properties.bind.Binder.Context;
 import org.springframework.boot.context.properties.source.ConfigurationProperty;
@@ -55,11 +58,17 @@ class MapBinder extends AggregateBinder<Map<Object, Object>> {
 	@Override
 	protected Object bindAggregate(ConfigurationPropertyName name, Bindable<?> target,
 			AggregateElementBinder elementBinder) {
-		Map<Object, Object> map = CollectionFactory.createMap((target.getValue() != null)
-				? Map.class : target.getType().resolve(Object.class), 0);
 		Bindable<?> resolvedTarget = resolveTarget(target);
 		boolean hasDescendants = getContext().streamSources().anyMatch((source) -> source
 				.containsDescendantOf(name) == ConfigurationPropertyState.PRESENT);
+		if (hasDescendants) {
+			EntryBinder entryBinder = new EntryBinder(name, resolvedTarget,
+					elementBinder);
+			if (entryBinder.isBulkBindingSupported()) {
+				return entryBinder.bindEntriesInBulk(target);
+			}
+		}
+		Map<Object, Object> map = createMap(target, 0);
 		for (ConfigurationPropertySource source : getContext().getSources()) {
 			if (!ConfigurationPropertyName.EMPTY.equals(name)) {
 				ConfigurationProperty property = source.getConfigurationProperty(name);
@@ -67,13 +76,18 @@ class MapBinder extends AggregateBinder<Map<Object, Object>> {
 					return getContext().getConverter().convert(property.getValue(),
 							target);
 				}
-				source = source.filter(name::isAncestorOf);
+				source = source.filterDescendantsOf(name);
 			}
 			new EntryBinder(name, resolvedTarget, elementBinder).bindEntries(source, map);
 		}
 		return map.isEmpty() ? null : map;
 	}
 
+	private Map<Object, Object> createMap(Bindable<?> target, int initialCapacity) {
+		return CollectionFactory.createMap((target.getValue() != null) ? Map.class
+				: target.getType().resolve(Object.class), initialCapacity);
+	}
+
 	private Bindable<?> resolveTarget(Bindable<?> target) {
 		Class<?> type = target.getType().resolve(Object.class);
 		if (Properties.class.isAssignableFrom(type)) {
@@ -137,6 +151,8 @@ class MapBinder extends AggregateBinder<Map<Object, Object>> {
 
 		private final ResolvableType valueType;
 
+		private final Bindable<?> valueBindable;
+
 		EntryBinder(ConfigurationPropertyName root, Bindable<?> target,
 				AggregateElementBinder elementBinder) {
 			this.root = root;
@@ -144,12 +160,129 @@ class MapBinder extends AggregateBinder<Map<Object, Object>> {
 			this.mapType = target.getType().asMap();
 			this.keyType = this.mapType.getGeneric(0);
 			this.valueType = this.mapType.getGeneric(1);
+			this.valueBindable = Bindable.of(this.valueType);
+		}
+
+		/**
+		 * Return if the entries can be bound in bulk: the values are scalar and bound
+		 * with the default handler, so that binding an entry named after a property
+		 * only converts the value of that property.
+		 */
+		boolean isBulkBindingSupported() {
+			Class<?> resolved = this.valueType.resolve(Object.class);
+			return getContext().getHandler() == BindHandler.DEFAULT
+					&& !isValueTreatedAsNestedMap() && !this.valueType.isArray()
+					&& !Map.class.isAssignableFrom(resolved)
+					&& !Collection.class.isAssignableFrom(resolved)
+					&& isScalarType(resolved);
+		}
+
+		/**
+		 * Bind the entries of all the sources, enumerating the descendants of each
+		 * iterable source once and creating the map with the number of descendants
+		 * found. Entries named after a property are converted directly, others are
+		 * bound by the element binder.
+		 */
+		Map<Object, Object> bindEntriesInBulk(Bindable<?> target) {
+			List<Descendants> sources = new ArrayList<>();
+			int size = 0;
+			for (ConfigurationPropertySource source : getContext().getSources()) {
+				ConfigurationPropertySource descendants = this.root.isEmpty() ? source
+						: source.filterDescendantsOf(this.root);
+				if (descendants instanceof IterableConfigurationPropertySource) {
+					Descendants found = new Descendants(source,
+							(IterableConfigurationPropertySource) descendants);
+					sources.add(found);
+					size += found.names.size();
+				}
+			}
+			Map<Object, Object> map = createMap(target, (int) (size / 0.75f) + 1);
+			for (Descendants descendants : sources) {
+				for (ConfigurationPropertyName name : descendants.names) {
+					bindEntry(descendants.source, descendants.filtered, name, map);
+				}
+			}
+			return map.isEmpty() ? null : map;
+		}
+
+		private void bindEntry(ConfigurationPropertySource source,
+				ConfigurationPropertySource descendants, ConfigurationPropertyName name,
+				Map<Object, Object> map) {
+			ConfigurationProperty property = descendants.getConfigurationProperty(name);
+			Object value = null;
+			boolean scalar = this.root.isParentOf(name);
+			if (!scalar && property != null) {
+				value = getContext().getPlaceholdersResolver()
+						.resolvePlaceholders(property.getValue());
+				scalar = getContext().getConverter().canConvert(value, this.valueType);
+			}
+			ConfigurationPropertyName entryName = scalar ? name
+					: name.chop(this.root.getNumberOfElements() + 1);
+			Object key = getContext().getConverter().convert(getKeyName(entryName),
+					this.keyType);
+			if (scalar) {
+				Object resolvedValue = value;
+				map.computeIfAbsent(key,
+						(k) -> bindValue(source, name, property, resolvedValue));
+			}
+			else {
+				map.computeIfAbsent(key,
+						(k) -> this.elementBinder.bind(entryName, this.valueBindable));
+			}
+		}
+
+		/**
+		 * Bind the value of the given property the same way as the element binder does
+		 * with the default handler, binding it again with the element binder if it fails
+		 * so that the failure is handled as usual.
+		 */
+		private Object bindValue(ConfigurationPropertySource source,
+				ConfigurationPropertyName name, ConfigurationProperty property,
+				Object resolvedValue) {
+			ConfigurationProperty found = findProperty(source, name, property);
+			if (found == null) {
+				return this.elementBinder.bind(name, this.valueBindable);
+			}
+			try {
+				getContext().setConfigurationProperty(found);
+				Object value = (found == property && resolvedValue != null)
+						? resolvedValue : getContext().getPlaceholdersResolver()
+								.resolvePlaceholders(found.getValue());
+				BindConverter converter = getContext().getConverter();
+				Object result = converter.convert(value, this.valueBindable);
+				if (result != null) {
+					result = converter.convert(result, this.valueBindable);
+				}
+				return converter.convert(result, this.valueBindable);
+			}
+			catch (RuntimeException ex) {
+				return this.elementBinder.bind(name, this.valueBindable);
+			}
+		}
+
+		/**
+		 * Find the property bound for the given name, the given property of the given
+		 * source unless an earlier source has one.
+		 */
+		private ConfigurationProperty findProperty(ConfigurationPropertySource source,
+				ConfigurationPropertyName name, ConfigurationProperty property) {
+			for (ConfigurationPropertySource candidate : getContext().getSources()) {
+				if (candidate == source) {
+					return property;
+				}
+				ConfigurationProperty found = candidate.getConfigurationProperty(name);
+				if (found != null) {
+					return found;
+				}
+			}
+			return property;
 		}
 
 		public void bindEntries(ConfigurationPropertySource source,
 				Map<Object, Object> map) {
 			if (source instanceof IterableConfigurationPropertySource) {
-				for (ConfigurationPropertyName name : (IterableConfigurationPropertySource) source) {
+				for (ConfigurationPropertyName name
+						: (IterableConfigurationPropertySource) source) {
 					Bindable<?> valueBindable = getValueBindable(name);
 					ConfigurationPropertyName entryName = getEntryName(source, name);
 					Object key = getContext().getConverter()
@@ -198,9 +331,7 @@ class MapBinder extends AggregateBinder<Map<Object, Object>> {
 
 		private boolean isScalarValue(ConfigurationPropertySource source,
 				ConfigurationPropertyName name) {
-			Class<?> resolved = this.valueType.resolve(Object.class);
-			String packageName = ClassUtils.getPackageName(resolved);
-			if (!packageName.startsWith("java.lang") && !resolved.isEnum()) {
+			if (!isScalarType(this.valueType.resolve(Object.class))) {
 				return false;
 			}
 			ConfigurationProperty property = source.getConfigurationProperty(name);
@@ -212,6 +343,11 @@ class MapBinder extends AggregateBinder<Map<Object, Object>> {
 			return getContext().getConverter().canConvert(value, this.valueType);
 		}
 
+		private boolean isScalarType(Class<?> resolved) {
+			String packageName = ClassUtils.getPackageName(resolved);
+			return packageName.startsWith("java.lang") || resolved.isEnum();
+		}
+
 		private String getKeyName(ConfigurationPropertyName name) {
 			StringBuilder result = new StringBuilder();
 			for (int i = this.root.getNumberOfElements(); i < name
@@ -226,4 +362,24 @@ class MapBinder extends AggregateBinder<Map<Object, Object>> {
 
 	}
 
+	/**
+	 * The descendants of the bound name in a source, enumerated once.
+	 */
+	private static final class Descendants {
+
+		private final ConfigurationPropertySource source;
+
+		private final ConfigurationPropertySource filtered;
+
+		private final List<ConfigurationPropertyName> names;
+
+		Descendants(ConfigurationPropertySource source,
+				IterableConfigurationPropertySource filtered) {
+			this.source = source;
+			this.filtered = filtered;
+			this.names = filtered.stream().collect(Collectors.toList());
+		}
+
+	}
+
 }
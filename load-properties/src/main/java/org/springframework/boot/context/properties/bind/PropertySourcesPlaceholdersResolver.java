@@ -16,6 +16,7 @@
 
 package org.springframework.boot.context.properties.bind;
 
+import org.springframework.boot.context.properties.source.PropertySourceBloomFilters;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.PropertySource;
@@ -37,6 +38,8 @@ public class PropertySourcesPlaceholdersResolver implements PlaceholdersResolver
 
 	private final PropertyPlaceholderHelper helper;
 
+	private final PropertySourceBloomFilters bloomFilters = new PropertySourceBloomFilters();
+
 	public PropertySourcesPlaceholdersResolver(Environment environment) {
 		this(getSources(environment), null);
 	}
@@ -66,7 +69,7 @@ public class PropertySourcesPlaceholdersResolver implements PlaceholdersResolver
 	protected String resolvePlaceholder(String placeholder) {
 		if (this.sources != null) {
 			for (PropertySource<?> source : this.sources) {
-				Object value = source.getProperty(placeholder);
+				Object value = this.bloomFilters.getProperty(source, placeholder);
 				if (value != null) {
 					return String.valueOf(value);
 				}
@@ -75,6 +78,15 @@ public class PropertySourcesPlaceholdersResolver implements PlaceholdersResolver
 		return null;
 	}
 
+	/**
+	 * Return the Bloom filters used to skip sources, for example to inspect their skip
+	 * rates.
+	 * @return the Bloom filters
+	 */
+	public PropertySourceBloomFilters getBloomFilters() {
+		return this.bloomFilters;
+	}
+
 	private static PropertySources getSources(Environment environment) {
 		Assert.notNull(environment, "Environment must not be null");
 		Assert.isInstanceOf(ConfigurableEnvironment.class, environment,
@@ -92,21 +92,19 @@ public class NoUnboundElementsBindHandler extends AbstractBindHandler {
 	private void collectUnbound(ConfigurationPropertyName name,
 			Set<ConfigurationProperty> unbound,
 			IterableConfigurationPropertySource source) {
-		IterableConfigurationPropertySource filtered = source
-				.filter((candidate) -> isUnbound(name, candidate));
+		IterableConfigurationPropertySource filtered = source.filterDescendantsOf(name)
+				.filter(this::isUnbound);
 		for (ConfigurationPropertyName unboundName : filtered) {
 			try {
-				unbound.add(source.filter((candidate) -> isUnbound(name, candidate))
-						.getConfigurationProperty(unboundName));
+				unbound.add(filtered.getConfigurationProperty(unboundName));
 			}
 			catch (Exception ex) {
 			}
 		}
 	}
 
-	private boolean isUnbound(ConfigurationPropertyName name,
-			ConfigurationPropertyName candidate) {
-		return name.isAncestorOf(candidate) && !this.boundNames.contains(candidate);
+	private boolean isUnbound(ConfigurationPropertyName candidate) {
+		return !this.boundNames.contains(candidate);
 	}
 
 }
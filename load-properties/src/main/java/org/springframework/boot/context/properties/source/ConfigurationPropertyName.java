@@ -17,14 +17,15 @@
 package org.springframework.boot.context.properties.source;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
+import org.springframework.boot.util.StringInterner;
 import org.springframework.util.Assert;
-import org.springframework.util.ObjectUtils;
 
 /**
  * A configuration property name composed of elements separated by dots. User created
@@ -59,24 +60,59 @@ public final class ConfigurationPropertyName
 	 * An empty {@link ConfigurationPropertyName}.
 	 */
 	public static final ConfigurationPropertyName EMPTY = new ConfigurationPropertyName(
-			new String[0]);
+			EMPTY_STRING, new int[0]);
 
-	private final CharSequence[] elements;
+	/**
+	 * Element only containing "{@code a-z}" and "{@code 0-9}" characters, its uniform
+	 * form is its original form.
+	 */
+	private static final int UNIFORM = 0;
 
-	private final CharSequence[] uniformElements;
+	/**
+	 * Element that would be {@link #UNIFORM} without its "{@code -}" characters.
+	 */
+	private static final int DASHED = 1;
 
-	private int[] elementHashCodes;
+	/**
+	 * Element containing upper-case, "{@code _}" or other characters.
+	 */
+	private static final int NON_UNIFORM = 2;
 
-	private String string;
+	/**
+	 * Element enclosed in "{@code [}" and "{@code ]}".
+	 */
+	private static final int INDEXED = 3;
 
-	private ConfigurationPropertyName(CharSequence[] elements) {
-		this(elements, new CharSequence[elements.length]);
-	}
+	/**
+	 * Indexed element only containing digits.
+	 */
+	private static final int NUMERICALLY_INDEXED = 4;
+
+	private static final int TYPE_BITS = 3;
+
+	private static final int TYPE_MASK = (1 << TYPE_BITS) - 1;
+
+	/**
+	 * Indexes with at most this many digits always fit into a {@code long}.
+	 */
+	private static final int MAX_FAST_INDEX_LENGTH = 18;
+
+	private final String source;
+
+	/**
+	 * Two entries per element: the start offset of the element in {@link #source}, then
+	 * the end offset shifted left by {@link #TYPE_BITS} and combined with the element
+	 * type.
+	 */
+	private final int[] offsets;
+
+	private int hashCode;
+
+	private String string;
 
-	private ConfigurationPropertyName(CharSequence[] elements,
-			CharSequence[] uniformElements) {
-		this.elements = elements;
-		this.uniformElements = uniformElements;
+	private ConfigurationPropertyName(String source, int[] offsets) {
+		this.source = source;
+		this.offsets = offsets;
 	}
 
 	/**
@@ -84,7 +120,7 @@ public final class ConfigurationPropertyName
 	 * @return {@code true} if the name is empty
 	 */
 	public boolean isEmpty() {
-		return this.elements.length == 0;
+		return this.offsets.length == 0;
 	}
 
 	/**
@@ -93,7 +129,7 @@ public final class ConfigurationPropertyName
 	 */
 	public boolean isLastElementIndexed() {
 		int size = getNumberOfElements();
-		return (size > 0 && isIndexed(this.elements[size - 1]));
+		return (size > 0 && isIndexed(size - 1));
 	}
 
 	/**
@@ -102,7 +138,7 @@ public final class ConfigurationPropertyName
 	 * @return {@code true} if the element is indexed
 	 */
 	boolean isIndexed(int elementIndex) {
-		return isIndexed(this.elements[elementIndex]);
+		return isIndexedType(getType(elementIndex));
 	}
 
 	/**
@@ -111,17 +147,7 @@ public final class ConfigurationPropertyName
 	 * @return {@code true} if the element is indexed and numeric
 	 */
 	public boolean isNumericIndex(int elementIndex) {
-		return isIndexed(elementIndex)
-				&& isNumeric(getElement(elementIndex, Form.ORIGINAL));
-	}
-
-	private boolean isNumeric(CharSequence element) {
-		for (int i = 0; i < element.length(); i++) {
-			if (!Character.isDigit(element.charAt(i))) {
-				return false;
-			}
-		}
-		return true;
+		return getType(elementIndex) == NUMERICALLY_INDEXED;
 	}
 
 	/**
@@ -141,26 +167,72 @@ public final class ConfigurationPropertyName
 	 * @return the last element
 	 */
 	public String getElement(int elementIndex, Form form) {
-		if (form == Form.ORIGINAL) {
-			CharSequence result = this.elements[elementIndex];
-			if (isIndexed(result)) {
-				result = result.subSequence(1, result.length() - 1);
+		int start = getStart(elementIndex);
+		int end = getEnd(elementIndex);
+		int type = getType(elementIndex);
+		if (isIndexedType(type)) {
+			return this.source.substring(start + 1, end - 1);
+		}
+		if (form == Form.ORIGINAL || type == UNIFORM) {
+			return this.source.substring(start, end);
+		}
+		StringBuilder result = new StringBuilder(end - start);
+		for (int i = start; i < end; i++) {
+			char ch = Character.toLowerCase(this.source.charAt(i));
+			if (ch != '-' && ch != '_') {
+				result.append(ch);
 			}
-			return result.toString();
 		}
-		CharSequence result = this.uniformElements[elementIndex];
-		if (result == null) {
-			result = this.elements[elementIndex];
-			if (isIndexed(result)) {
-				result = result.subSequence(1, result.length() - 1);
+		return result.toString();
+	}
+
+	/**
+	 * Return the length of an element in its {@link Form#ORIGINAL original} form.
+	 * @param elementIndex the element index
+	 * @return the length of the element
+	 */
+	int getElementLength(int elementIndex) {
+		int length = getEnd(elementIndex) - getStart(elementIndex);
+		return isIndexed(elementIndex) ? length - 2 : length;
+	}
+
+	/**
+	 * Return a character of an element in its {@link Form#ORIGINAL original} form
+	 * without creating the element string.
+	 * @param elementIndex the element index
+	 * @param index the index of the character in the element
+	 * @return the character
+	 */
+	char charAt(int elementIndex, int index) {
+		int offset = isIndexed(elementIndex) ? 1 : 0;
+		return this.source.charAt(getStart(elementIndex) + offset + index);
+	}
+
+	/**
+	 * Return the value of an element if, in its {@link Form#UNIFORM uniform} form, it is a
+	 * number without leading zeros below {@link Integer#MAX_VALUE}, as bound to an index
+	 * of a collection. The element string is not created.
+	 * @param elementIndex the element index
+	 * @return the index or {@code -1}
+	 */
+	public int getArrayIndex(int elementIndex) {
+		boolean indexed = isIndexed(elementIndex);
+		int offset = indexed ? 1 : 0;
+		int end = getEnd(elementIndex) - offset;
+		long index = 0;
+		int digits = 0;
+		for (int i = getStart(elementIndex) + offset; i < end; i++) {
+			char ch = this.source.charAt(i);
+			if (!indexed && isIgnored(ch)) {
+				continue;
 			}
-			else {
-				result = cleanupCharSequence(result, (c, i) -> c == '-' || c == '_',
-						CharProcessor.LOWERCASE);
+			if (ch < '0' || ch > '9' || digits == 10 || (digits == 1 && index == 0)) {
+				return -1;
 			}
-			this.uniformElements[elementIndex] = result;
+			index = index * 10 + (ch - '0');
+			digits++;
 		}
-		return result.toString();
+		return (digits > 0 && index < Integer.MAX_VALUE) ? (int) index : -1;
 	}
 
 	/**
@@ -168,7 +240,33 @@ public final class ConfigurationPropertyName
 	 * @return the number of elements
 	 */
 	public int getNumberOfElements() {
-		return this.elements.length;
+		return this.offsets.length >> 1;
+	}
+
+	private int getStart(int elementIndex) {
+		return this.offsets[elementIndex << 1];
+	}
+
+	private int getEnd(int elementIndex) {
+		return this.offsets[(elementIndex << 1) + 1] >>> TYPE_BITS;
+	}
+
+	private int getType(int elementIndex) {
+		return this.offsets[(elementIndex << 1) + 1] & TYPE_MASK;
+	}
+
+	/**
+	 * Return a {@link ConfigurationPropertyName} with the same elements backed by the
+	 * canonical instance of the string that holds them. Names are shared, so this name
+	 * is left as it is.
+	 * @param interner the interner to use
+	 * @return this name if it is already backed by the canonical string, or an equal
+	 * name that is
+	 */
+	ConfigurationPropertyName intern(StringInterner interner) {
+		String source = interner.intern(this.source);
+		return (source != this.source) ? new ConfigurationPropertyName(source, this.offsets)
+				: this;
 	}
 
 	/**
@@ -182,20 +280,30 @@ public final class ConfigurationPropertyName
 		if (elementValue == null) {
 			return this;
 		}
-		process(elementValue, '.', (value, start, end, indexed) -> Assert.isTrue(
+		process(elementValue, '.', (name, start, end, indexed) -> Assert.isTrue(
 				start == 0,
 				() -> "Element value '" + elementValue + "' must be a single item"));
-		if (!isIndexed(elementValue)) {
+		boolean indexed = isIndexed(elementValue);
+		if (!indexed) {
 			InvalidConfigurationPropertyNameException.throwIfHasInvalidChars(elementValue,
 					ElementValidator.getInvalidChars(elementValue));
 		}
-		int length = this.elements.length;
-		CharSequence[] elements = new CharSequence[length + 1];
-		System.arraycopy(this.elements, 0, elements, 0, length);
-		elements[length] = elementValue;
-		CharSequence[] uniformElements = new CharSequence[length + 1];
-		System.arraycopy(this.uniformElements, 0, uniformElements, 0, length);
-		return new ConfigurationPropertyName(elements, uniformElements);
+		int length = this.offsets.length;
+		int sourceEnd = (length != 0) ? getEnd((length >> 1) - 1) : 0;
+		boolean separated = (length != 0 && !indexed);
+		StringBuilder source = new StringBuilder(
+				sourceEnd + (separated ? 1 : 0) + elementValue.length());
+		source.append(this.source, 0, sourceEnd);
+		if (separated) {
+			source.append('.');
+		}
+		int start = source.length();
+		source.append(elementValue);
+		int[] offsets = Arrays.copyOf(this.offsets, length + 2);
+		offsets[length] = start;
+		offsets[length + 1] = encode(source.length(),
+				getType(elementValue, 0, elementValue.length()));
+		return new ConfigurationPropertyName(source.toString(), offsets);
 	}
 
 	/**
@@ -209,11 +317,8 @@ public final class ConfigurationPropertyName
 		if (size >= getNumberOfElements()) {
 			return this;
 		}
-		CharSequence[] elements = new CharSequence[size];
-		System.arraycopy(this.elements, 0, elements, 0, size);
-		CharSequence[] uniformElements = new CharSequence[size];
-		System.arraycopy(this.uniformElements, 0, uniformElements, 0, size);
-		return new ConfigurationPropertyName(elements, uniformElements);
+		return new ConfigurationPropertyName(this.source,
+				Arrays.copyOf(this.offsets, size << 1));
 	}
 
 	/**
@@ -240,8 +345,34 @@ public final class ConfigurationPropertyName
 		if (this.getNumberOfElements() >= name.getNumberOfElements()) {
 			return false;
 		}
-		for (int i = 0; i < this.elements.length; i++) {
-			if (!elementEquals(this.elements[i], name.elements[i])) {
+		for (int i = getNumberOfElements() - 1; i >= 0; i--) {
+			if (!elementEquals(name, i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns {@code true} if the given name has exactly the same elements as this name
+	 * in their {@link Form#ORIGINAL original} form. Names that are the same are always
+	 * {@link #equals(Object) equal}.
+	 * @param name the name to check
+	 * @return {@code true} if the elements are the same
+	 */
+	boolean isSameAs(ConfigurationPropertyName name) {
+		if (name == this) {
+			return true;
+		}
+		if (getNumberOfElements() != name.getNumberOfElements()) {
+			return false;
+		}
+		for (int i = 0; i < getNumberOfElements(); i++) {
+			int start = getStart(i);
+			int length = getEnd(i) - start;
+			if (getType(i) != name.getType(i)
+					|| length != name.getEnd(i) - name.getStart(i) || !this.source
+							.regionMatches(start, name.source, name.getStart(i), length)) {
 				return false;
 			}
 		}
@@ -256,14 +387,14 @@ public final class ConfigurationPropertyName
 	private int compare(ConfigurationPropertyName n1, ConfigurationPropertyName n2) {
 		int l1 = n1.getNumberOfElements();
 		int l2 = n2.getNumberOfElements();
-		int i1 = 0;
-		int i2 = 0;
-		while (i1 < l1 || i2 < l2) {
-			boolean indexed1 = (i1 < l1) ? n1.isIndexed(i2) : false;
-			boolean indexed2 = (i2 < l2) ? n2.isIndexed(i2) : false;
-			String e1 = (i1 < l1) ? n1.getElement(i1++, Form.UNIFORM) : null;
-			String e2 = (i2 < l2) ? n2.getElement(i2++, Form.UNIFORM) : null;
-			int result = compare(e1, indexed1, e2, indexed2);
+		for (int i = 0; i < l1 || i < l2; i++) {
+			if (i >= l1) {
+				return -1;
+			}
+			if (i >= l2) {
+				return 1;
+			}
+			int result = compareElement(n1, n2, i);
 			if (result != 0) {
 				return result;
 			}
@@ -271,30 +402,125 @@ public final class ConfigurationPropertyName
 		return 0;
 	}
 
-	private int compare(String e1, boolean indexed1, String e2, boolean indexed2) {
-		if (e1 == null) {
-			return -1;
-		}
-		if (e2 == null) {
-			return 1;
-		}
+	private int compareElement(ConfigurationPropertyName n1, ConfigurationPropertyName n2,
+			int i) {
+		int type1 = n1.getType(i);
+		int type2 = n2.getType(i);
+		boolean indexed1 = isIndexedType(type1);
+		boolean indexed2 = isIndexedType(type2);
 		int result = Boolean.compare(indexed2, indexed1);
 		if (result != 0) {
 			return result;
 		}
-		if (indexed1 && indexed2) {
-			try {
-				long v1 = Long.parseLong(e1);
-				long v2 = Long.parseLong(e2);
-				return Long.compare(v1, v2);
+		if (!indexed1) {
+			return compareUniform(n1.source, n1.getStart(i), n1.getEnd(i), n2.source,
+					n2.getStart(i), n2.getEnd(i));
+		}
+		int length1 = n1.getFastIndexLength(i);
+		int length2 = n2.getFastIndexLength(i);
+		if (length1 > 0 && length2 > 0) {
+			return Long.compare(n1.getIndex(i, length1), n2.getIndex(i, length2));
+		}
+		if (length1 < 0 || length2 < 0) {
+			// Overlong or non-ASCII indexes keep the Long.parseLong rules
+			return compareIndexed(n1.getElement(i, Form.UNIFORM),
+					n2.getElement(i, Form.UNIFORM));
+		}
+		return compareOriginal(n1.source, n1.getStart(i) + 1, n1.getEnd(i) - 1,
+				n2.source, n2.getStart(i) + 1, n2.getEnd(i) - 1);
+	}
+
+	private int compareUniform(String s1, int start1, int end1, String s2, int start2,
+			int end2) {
+		int i1 = start1;
+		int i2 = start2;
+		while (true) {
+			char ch1 = 0;
+			while (i1 < end1 && isIgnored(ch1 = Character.toLowerCase(s1.charAt(i1)))) {
+				i1++;
+			}
+			char ch2 = 0;
+			while (i2 < end2 && isIgnored(ch2 = Character.toLowerCase(s2.charAt(i2)))) {
+				i2++;
 			}
-			catch (NumberFormatException ex) {
-				// Fallback to string comparison
+			if (i1 >= end1 || i2 >= end2) {
+				return (i1 < end1) ? 1 : (i2 < end2) ? -1 : 0;
+			}
+			if (ch1 != ch2) {
+				return ch1 - ch2;
+			}
+			i1++;
+			i2++;
+		}
+	}
+
+	private int compareOriginal(String s1, int start1, int end1, String s2, int start2,
+			int end2) {
+		int length1 = end1 - start1;
+		int length2 = end2 - start2;
+		for (int i = 0; i < length1 && i < length2; i++) {
+			char ch1 = s1.charAt(start1 + i);
+			char ch2 = s2.charAt(start2 + i);
+			if (ch1 != ch2) {
+				return ch1 - ch2;
 			}
 		}
+		return length1 - length2;
+	}
+
+	private static boolean isIgnored(char ch) {
+		return ch == '-' || ch == '_';
+	}
+
+	private int compareIndexed(String e1, String e2) {
+		try {
+			long v1 = Long.parseLong(e1);
+			long v2 = Long.parseLong(e2);
+			return Long.compare(v1, v2);
+		}
+		catch (NumberFormatException ex) {
+			// Fallback to string comparison
+		}
 		return e1.compareTo(e2);
 	}
 
+	/**
+	 * Return the length of an indexed element if it is an optionally signed number that
+	 * always fits into a {@code long}, {@code 0} if it is not a number or {@code -1} if
+	 * it has to be compared with {@link Long#parseLong}.
+	 */
+	private int getFastIndexLength(int elementIndex) {
+		int start = getStart(elementIndex) + 1;
+		int end = getEnd(elementIndex) - 1;
+		int digitsStart = start;
+		if (end - start > 1 && (this.source.charAt(start) == '-'
+				|| this.source.charAt(start) == '+')) {
+			digitsStart++;
+		}
+		for (int i = digitsStart; i < end; i++) {
+			char ch = this.source.charAt(i);
+			if (ch < '0' || ch > '9') {
+				// Long.parseLong also accepts non-ASCII digits
+				return Character.isDigit(ch) ? -1 : 0;
+			}
+		}
+		if (digitsStart == end) {
+			return 0;
+		}
+		return (end - digitsStart <= MAX_FAST_INDEX_LENGTH) ? end - start : -1;
+	}
+
+	private long getIndex(int elementIndex, int length) {
+		int start = getStart(elementIndex) + 1;
+		char first = this.source.charAt(start);
+		boolean signed = (first == '-' || first == '+');
+		long index = 0;
+		for (int i = signed ? start + 1 : start; i < start + length; i++) {
+			index = index * 10 + (this.source.charAt(i) - '0');
+		}
+		return (first == '-') ? -index : index;
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (obj == this) {
@@ -307,29 +533,47 @@ public final class ConfigurationPropertyName
 		if (getNumberOfElements() != other.getNumberOfElements()) {
 			return false;
 		}
-		for (int i = 0; i < this.elements.length; i++) {
-			if (!elementEquals(this.elements[i], other.elements[i])) {
+		if (this.hashCode != 0 && other.hashCode != 0
+				&& this.hashCode != other.hashCode) {
+			return false;
+		}
+		// Sibling names usually differ in their last element
+		for (int i = getNumberOfElements() - 1; i >= 0; i--) {
+			if (!elementEquals(other, i)) {
 				return false;
 			}
 		}
 		return true;
 	}
 
-	private boolean elementEquals(CharSequence e1, CharSequence e2) {
-		int l1 = e1.length();
-		int l2 = e2.length();
-		boolean indexed1 = isIndexed(e1);
+	private boolean elementEquals(ConfigurationPropertyName other, int i) {
+		String s1 = this.source;
+		String s2 = other.source;
+		int start1 = getStart(i);
+		int end1 = getEnd(i);
+		int type1 = getType(i);
+		int start2 = other.getStart(i);
+		int end2 = other.getEnd(i);
+		int type2 = other.getType(i);
+		boolean indexed1 = isIndexedType(type1);
+		boolean indexed2 = isIndexedType(type2);
+		if ((type1 == UNIFORM && type2 == UNIFORM) || (indexed1 && indexed2)) {
+			int length = end1 - start1;
+			return length == end2 - start2
+					&& s1.regionMatches(start1, s2, start2, length);
+		}
 		int offset1 = indexed1 ? 1 : 0;
-		boolean indexed2 = isIndexed(e2);
 		int offset2 = indexed2 ? 1 : 0;
-		int i1 = offset1;
-		int i2 = offset2;
-		while (i1 < l1 - offset1) {
-			if (i2 >= l2 - offset2) {
+		int i1 = start1 + offset1;
+		int i2 = start2 + offset2;
+		int limit1 = end1 - offset1;
+		int limit2 = end2 - offset2;
+		while (i1 < limit1) {
+			if (i2 >= limit2) {
 				return false;
 			}
-			char ch1 = indexed1 ? e1.charAt(i1) : Character.toLowerCase(e1.charAt(i1));
-			char ch2 = indexed2 ? e2.charAt(i2) : Character.toLowerCase(e2.charAt(i2));
+			char ch1 = indexed1 ? s1.charAt(i1) : Character.toLowerCase(s1.charAt(i1));
+			char ch2 = indexed2 ? s2.charAt(i2) : Character.toLowerCase(s2.charAt(i2));
 			if (!indexed1 && (ch1 == '-' || ch1 == '_')) {
 				i1++;
 			}
@@ -344,8 +588,8 @@ public final class ConfigurationPropertyName
 				i2++;
 			}
 		}
-		while (i2 < l2 - offset2) {
-			char ch = e2.charAt(i2++);
+		while (i2 < limit2) {
+			char ch = s2.charAt(i2++);
 			if (indexed2 || (ch != '-' && ch != '_')) {
 				return false;
 			}
@@ -355,27 +599,26 @@ public final class ConfigurationPropertyName
 
 	@Override
 	public int hashCode() {
-		if (this.elementHashCodes == null) {
-			this.elementHashCodes = getElementHashCodes();
-		}
-		return ObjectUtils.nullSafeHashCode(this.elementHashCodes);
-	}
-
-	private int[] getElementHashCodes() {
-		int[] hashCodes = new int[this.elements.length];
-		for (int i = 0; i < this.elements.length; i++) {
-			hashCodes[i] = getElementHashCode(this.elements[i]);
+		int hashCode = this.hashCode;
+		if (hashCode == 0) {
+			// Same result as ObjectUtils.nullSafeHashCode of the element hash codes
+			hashCode = 7;
+			for (int i = 0; i < getNumberOfElements(); i++) {
+				hashCode = 31 * hashCode + getElementHashCode(i);
+			}
+			this.hashCode = hashCode;
 		}
-		return hashCodes;
+		return hashCode;
 	}
 
-	private int getElementHashCode(CharSequence element) {
+	private int getElementHashCode(int elementIndex) {
 		int hash = 0;
-		boolean indexed = isIndexed(element);
+		boolean indexed = isIndexed(elementIndex);
 		int offset = indexed ? 1 : 0;
-		for (int i = 0 + offset; i < element.length() - offset; i++) {
-			char ch = (indexed ? element.charAt(i)
-					: Character.toLowerCase(element.charAt(i)));
+		for (int i = getStart(elementIndex) + offset; i < getEnd(elementIndex)
+				- offset; i++) {
+			char ch = (indexed ? this.source.charAt(i)
+					: Character.toLowerCase(this.source.charAt(i)));
 			hash = (ch == '-' || ch == '_') ? hash : 31 * hash + Character.hashCode(ch);
 		}
 		return hash;
@@ -384,24 +627,49 @@ public final class ConfigurationPropertyName
 	@Override
 	public String toString() {
 		if (this.string == null) {
-			this.string = toString(this.elements);
+			this.string = isCanonicalSource() ? this.source : buildToString();
 		}
 		return this.string;
 	}
 
-	private String toString(CharSequence[] elements) {
-		StringBuilder result = new StringBuilder();
-		for (CharSequence element : elements) {
-			boolean indexed = isIndexed(element);
+	/**
+	 * Return if the backing string is exactly the dotted form of this name, which is the
+	 * case for most names created from property source keys.
+	 */
+	private boolean isCanonicalSource() {
+		int expectedStart = 0;
+		for (int i = 0; i < getNumberOfElements(); i++) {
+			int start = getStart(i);
+			int type = getType(i);
+			if (type == NON_UNIFORM) {
+				return false;
+			}
+			if (i > 0 && !isIndexedType(type)) {
+				if (start != expectedStart + 1 || this.source.charAt(expectedStart) != '.') {
+					return false;
+				}
+			}
+			else if (start != expectedStart) {
+				return false;
+			}
+			expectedStart = getEnd(i);
+		}
+		return expectedStart == this.source.length();
+	}
+
+	private String buildToString() {
+		StringBuilder result = new StringBuilder(this.source.length());
+		for (int i = 0; i < getNumberOfElements(); i++) {
+			boolean indexed = isIndexed(i);
 			if (result.length() > 0 && !indexed) {
 				result.append('.');
 			}
 			if (indexed) {
-				result.append(element);
+				result.append(this.source, getStart(i), getEnd(i));
 			}
 			else {
-				for (int i = 0; i < element.length(); i++) {
-					char ch = Character.toLowerCase(element.charAt(i));
+				for (int j = getStart(i); j < getEnd(i); j++) {
+					char ch = Character.toLowerCase(this.source.charAt(j));
 					if (ch != '_') {
 						result.append(ch);
 					}
@@ -415,6 +683,36 @@ public final class ConfigurationPropertyName
 		return element.charAt(0) == '[' && element.charAt(element.length() - 1) == ']';
 	}
 
+	private static boolean isIndexedType(int type) {
+		return type >= INDEXED;
+	}
+
+	private static int getType(CharSequence element, int start, int end) {
+		if (element.charAt(start) == '[' && element.charAt(end - 1) == ']') {
+			for (int i = start + 1; i < end - 1; i++) {
+				if (!Character.isDigit(element.charAt(i))) {
+					return INDEXED;
+				}
+			}
+			return NUMERICALLY_INDEXED;
+		}
+		int type = UNIFORM;
+		for (int i = start; i < end; i++) {
+			char ch = element.charAt(i);
+			if (ch == '-') {
+				type = DASHED;
+			}
+			else if (!((ch >= 'a' && ch <= 'z') || (ch >= '0' && ch <= '9'))) {
+				return NON_UNIFORM;
+			}
+		}
+		return type;
+	}
+
+	private static int encode(int end, int type) {
+		return (end << TYPE_BITS) | type;
+	}
+
 	/**
 	 * Returns if the given name is valid. If this method returns {@code true} then the
 	 * name may be used with {@link #of(CharSequence)} without throwing an exception.
@@ -452,17 +750,16 @@ public final class ConfigurationPropertyName
 		if (name.length() == 0) {
 			return EMPTY;
 		}
-		List<CharSequence> elements = new ArrayList<>(10);
-		process(name, '.', (elementValue, start, end, indexed) -> {
-			if (elementValue.length() > 0) {
-				if (!indexed) {
-					InvalidConfigurationPropertyNameException.throwIfHasInvalidChars(name,
-							ElementValidator.getInvalidChars(elementValue));
-				}
-				elements.add(elementValue);
+		String source = name.toString();
+		ElementsBuilder elements = new ElementsBuilder();
+		process(source, '.', (value, start, end, indexed) -> {
+			if (!indexed && !ElementValidator.isValidElement(value, start, end)) {
+				InvalidConfigurationPropertyNameException.throwIfHasInvalidChars(name,
+						ElementValidator.getInvalidChars(value.subSequence(start, end)));
 			}
+			elements.add(start, end, getType(value, start, end));
 		});
-		return new ConfigurationPropertyName(elements.toArray(new CharSequence[0]));
+		return new ConfigurationPropertyName(source, elements.toArray());
 	}
 
 	/**
@@ -473,7 +770,7 @@ public final class ConfigurationPropertyName
 	 * @return a {@link ConfigurationPropertyName}
 	 */
 	static ConfigurationPropertyName adapt(CharSequence name, char separator) {
-		return adapt(name, separator, Function.identity());
+		return adapt(name, separator, null);
 	}
 
 	/**
@@ -486,30 +783,66 @@ public final class ConfigurationPropertyName
 	 * required on the extracted element values.
 	 * @param name the name to parse
 	 * @param separator the separator used to split the name
-	 * @param elementValueProcessor a function to process element values
+	 * @param elementValueProcessor a function to process element values (may be
+	 * {@code null})
 	 * @return a {@link ConfigurationPropertyName}
 	 */
 	static ConfigurationPropertyName adapt(CharSequence name, char separator,
 			Function<CharSequence, CharSequence> elementValueProcessor) {
 		Assert.notNull(name, "Name must not be null");
-		Assert.notNull(elementValueProcessor, "ElementValueProcessor must not be null");
 		if (name.length() == 0) {
 			return EMPTY;
 		}
-		List<CharSequence> elements = new ArrayList<>();
-		process(name, separator, (elementValue, start, end, indexed) -> {
-			elementValue = elementValueProcessor.apply(elementValue);
-			if (!isIndexed(elementValue)) {
-				elementValue = cleanupCharSequence(elementValue,
-						(ch, index) -> ch != '_' && !ElementValidator
-								.isValidChar(Character.toLowerCase(ch), index),
-						CharProcessor.NONE);
+		StringBuilder source = new StringBuilder(name.length());
+		ElementsBuilder elements = new ElementsBuilder();
+		process(name, separator, (value, start, end, indexed) -> {
+			if (elementValueProcessor == null) {
+				appendElement(source, elements, value, start, end);
 			}
-			if (elementValue.length() > 0) {
-				elements.add(elementValue);
+			else {
+				CharSequence elementValue = elementValueProcessor
+						.apply(value.subSequence(start, end));
+				appendElement(source, elements, elementValue, 0, elementValue.length());
 			}
 		});
-		return new ConfigurationPropertyName(elements.toArray(new CharSequence[0]));
+		return new ConfigurationPropertyName(getSource(name, source),
+				elements.toArray());
+	}
+
+	/**
+	 * Return the string of an adapted name, reusing the given name when adapting it
+	 * changed nothing so that names share the strings of the keys they are created from.
+	 */
+	private static String getSource(CharSequence name, StringBuilder adapted) {
+		if (name instanceof String && ((String) name).contentEquals(adapted)) {
+			return (String) name;
+		}
+		return adapted.toString();
+	}
+
+	private static void appendElement(StringBuilder source, ElementsBuilder elements,
+			CharSequence value, int start, int end) {
+		boolean indexed = (value.charAt(start) == '[' && value.charAt(end - 1) == ']');
+		int mark = source.length();
+		if (mark > 0 && !indexed) {
+			source.append('.');
+		}
+		int elementStart = source.length();
+		if (indexed) {
+			source.append(value, start, end);
+		}
+		else {
+			appendChars(source, value, start, end,
+					(ch, index) -> ch != '_' && !ElementValidator
+							.isValidChar(Character.toLowerCase(ch), index));
+		}
+		if (source.length() == elementStart) {
+			source.setLength(mark);
+		}
+		else {
+			elements.add(elementStart, source.length(),
+					getType(source, elementStart, source.length()));
+		}
 	}
 
 	private static void process(CharSequence name, char separator,
@@ -547,29 +880,18 @@ public final class ConfigurationPropertyName
 	private static void processElement(ElementProcessor processor, CharSequence name,
 			int start, int end, boolean indexed) {
 		if ((end - start) >= 1) {
-			processor.process(name.subSequence(start, end), start, end, indexed);
+			processor.process(name, start, end, indexed);
 		}
 	}
 
-	private static CharSequence cleanupCharSequence(CharSequence name, CharFilter filter,
-			CharProcessor processor) {
-		for (int i = 0; i < name.length(); i++) {
+	private static void appendChars(StringBuilder result, CharSequence name, int start,
+			int end, CharFilter filter) {
+		for (int i = start; i < end; i++) {
 			char ch = name.charAt(i);
-			char processed = processor.process(ch, i);
-			if (filter.isExcluded(processed, i) || processed != ch) {
-				// We save memory by only creating the new result if necessary
-				StringBuilder result = new StringBuilder(name.length());
-				result.append(name.subSequence(0, i));
-				for (int j = i; j < name.length(); j++) {
-					processed = processor.process(name.charAt(j), j);
-					if (!filter.isExcluded(processed, j)) {
-						result.append(processed);
-					}
-				}
-				return result;
+			if (!filter.isExcluded(ch, i - start)) {
+				result.append(ch);
 			}
 		}
-		return name;
 	}
 
 	/**
@@ -622,19 +944,6 @@ public final class ConfigurationPropertyName
 
 	}
 
-	/**
-	 * Internal processor used to change characters.
-	 */
-	private interface CharProcessor {
-
-		CharProcessor NONE = (c, i) -> c;
-
-		CharProcessor LOWERCASE = (c, i) -> Character.toLowerCase(c);
-
-		char process(char c, int index);
-
-	}
-
 	/**
 	 * {@link ElementProcessor} that checks if a name is valid.
 	 */
@@ -646,7 +955,7 @@ public final class ConfigurationPropertyName
 		public void process(CharSequence elementValue, int start, int end,
 				boolean indexed) {
 			if (this.valid && !indexed) {
-				this.valid = isValidElement(elementValue);
+				this.valid = isValidElement(elementValue, start, end);
 			}
 		}
 
@@ -655,9 +964,13 @@ public final class ConfigurationPropertyName
 		}
 
 		public static boolean isValidElement(CharSequence elementValue) {
-			for (int i = 0; i < elementValue.length(); i++) {
-				char ch = elementValue.charAt(i);
-				if (!isValidChar(ch, i)) {
+			return isValidElement(elementValue, 0, elementValue.length());
+		}
+
+		public static boolean isValidElement(CharSequence name, int start, int end) {
+			for (int i = start; i < end; i++) {
+				char ch = name.charAt(i);
+				if (!isValidChar(ch, i - start)) {
 					return false;
 				}
 			}
@@ -689,4 +1002,27 @@ public final class ConfigurationPropertyName
 
 	}
 
+	/**
+	 * Collects the packed offsets of the elements found while parsing a name.
+	 */
+	private static class ElementsBuilder {
+
+		private int[] offsets = new int[12];
+
+		private int size;
+
+		void add(int start, int end, int type) {
+			if (this.size + 2 > this.offsets.length) {
+				this.offsets = Arrays.copyOf(this.offsets, this.offsets.length * 2);
+			}
+			this.offsets[this.size++] = start;
+			this.offsets[this.size++] = encode(end, type);
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(this.offsets, this.size);
+		}
+
+	}
+
 }
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.source;
+
+import org.springframework.boot.util.ConcurrentLruCache;
+import org.springframework.util.Assert;
+
+/**
+ * Bounded cache of canonical {@link ConfigurationPropertyName} instances, so that names
+ * that are looked up repeatedly are only parsed and validated once. Names are cached
+ * for the strings passed to {@link #of(String)} and {@link #adapt(String)} and for the
+ * results of {@link #append(ConfigurationPropertyName, String)}. The least recently
+ * used names are evicted once a cache is full. A process-wide instance is available
+ * from {@link #shared()}.
+ *
+ * @author roc
+ * @see ConfigurationPropertyName
+ */
+public final class ConfigurationPropertyNameCache {
+
+	private static final int SHARED_MAX_SIZE = 8192;
+
+	private static final ConfigurationPropertyNameCache SHARED = new ConfigurationPropertyNameCache(
+			SHARED_MAX_SIZE);
+
+	private final ConcurrentLruCache<String, ConfigurationPropertyName> names;
+
+	private final ConcurrentLruCache<String, ConfigurationPropertyName> adaptedNames;
+
+	private final ConcurrentLruCache<AppendKey, ConfigurationPropertyName> appendedNames;
+
+	/**
+	 * Create a new {@link ConfigurationPropertyNameCache} instance.
+	 * @param maxSize the maximum number of names held for each kind of lookup
+	 */
+	public ConfigurationPropertyNameCache(int maxSize) {
+		this.names = new ConcurrentLruCache<>(maxSize,
+				ConfigurationPropertyNameCache::parseIfValid);
+		this.adaptedNames = new ConcurrentLruCache<>(maxSize,
+				(name) -> ConfigurationPropertyName.adapt(name, '.'));
+		this.appendedNames = new ConcurrentLruCache<>(maxSize,
+				(key) -> key.parent.append(key.elementValue));
+	}
+
+	/**
+	 * Return the process-wide {@link ConfigurationPropertyNameCache}.
+	 * @return the shared cache
+	 */
+	public static ConfigurationPropertyNameCache shared() {
+		return SHARED;
+	}
+
+	/**
+	 * Return the canonical {@link ConfigurationPropertyName} for the specified string.
+	 * @param name the source name
+	 * @return a {@link ConfigurationPropertyName} instance
+	 * @throws InvalidConfigurationPropertyNameException if the name is not valid
+	 * @see ConfigurationPropertyName#of(CharSequence)
+	 */
+	public ConfigurationPropertyName of(String name) {
+		Assert.notNull(name, "Name must not be null");
+		ConfigurationPropertyName result = this.names.get(name);
+		if (result == null) {
+			// Parse again for the exception, invalid names are rarely looked up twice
+			return ConfigurationPropertyName.of(name);
+		}
+		return result;
+	}
+
+	/**
+	 * Return the canonical {@link ConfigurationPropertyName} for the specified string, or
+	 * {@code null} if the string is not a valid name. Invalid strings are cached as well.
+	 * @param name the source name
+	 * @return a {@link ConfigurationPropertyName} instance or {@code null}
+	 * @see ConfigurationPropertyName#isValid(CharSequence)
+	 */
+	public ConfigurationPropertyName ofIfValid(String name) {
+		return (name != null) ? this.names.get(name) : null;
+	}
+
+	/**
+	 * Return the canonical {@link ConfigurationPropertyName} adapted from the specified
+	 * dot separated string, the way {@link SpringConfigurationPropertySource} maps the
+	 * names of a property source.
+	 * @param name the name to adapt
+	 * @return a {@link ConfigurationPropertyName} instance
+	 * @see ConfigurationPropertyName#adapt(CharSequence, char)
+	 */
+	public ConfigurationPropertyName adapt(String name) {
+		Assert.notNull(name, "Name must not be null");
+		return this.adaptedNames.get(name);
+	}
+
+	/**
+	 * Return the canonical {@link ConfigurationPropertyName} created by appending the
+	 * given element value to a parent name.
+	 * @param parent the parent name
+	 * @param elementValue the single element value to append
+	 * @return a {@link ConfigurationPropertyName} instance
+	 * @throws InvalidConfigurationPropertyNameException if elementValue is not valid
+	 * @see ConfigurationPropertyName#append(String)
+	 */
+	public ConfigurationPropertyName append(ConfigurationPropertyName parent,
+			String elementValue) {
+		Assert.notNull(parent, "Parent must not be null");
+		if (elementValue == null) {
+			return parent;
+		}
+		return this.appendedNames.get(new AppendKey(parent, elementValue));
+	}
+
+	/**
+	 * Return a short description of the cache usage.
+	 * @return the summary
+	 */
+	public String getSummary() {
+		return String.format("names: %s, adapted: %s, appended: %s",
+				this.names.getSummary(), this.adaptedNames.getSummary(),
+				this.appendedNames.getSummary());
+	}
+
+	/**
+	 * Remove all cached names and reset the statistics.
+	 */
+	public void clear() {
+		this.names.clear();
+		this.adaptedNames.clear();
+		this.appendedNames.clear();
+	}
+
+	/**
+	 * Return a short description of the usage of the property mapping caches shared by
+	 * all configuration property sources.
+	 * @return the summary
+	 */
+	public static String getMappingSummary() {
+		return String.format("default mappings: %s; system environment mappings: %s",
+				((DefaultPropertyMapper) DefaultPropertyMapper.INSTANCE).getCacheSummary(),
+				((SystemEnvironmentPropertyMapper) SystemEnvironmentPropertyMapper.INSTANCE)
+						.getCacheSummary());
+	}
+
+	@Override
+	public String toString() {
+		return getSummary();
+	}
+
+	private static ConfigurationPropertyName parseIfValid(String name) {
+		return ConfigurationPropertyName.isValid(name) ? ConfigurationPropertyName.of(name)
+				: null;
+	}
+
+	/**
+	 * Key of an appended name.
+	 */
+	private static final class AppendKey {
+
+		private final ConfigurationPropertyName parent;
+
+		private final String elementValue;
+
+		AppendKey(ConfigurationPropertyName parent, String elementValue) {
+			this.parent = parent;
+			this.elementValue = elementValue;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			AppendKey other = (AppendKey) obj;
+			// Equal parents may differ in their original form, which is kept by append
+			return this.elementValue.equals(other.elementValue)
+					&& this.parent.isSameAs(other.parent);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.parent.hashCode() + this.elementValue.hashCode();
+		}
+
+	}
+
+}
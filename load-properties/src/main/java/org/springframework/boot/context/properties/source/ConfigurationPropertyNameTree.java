@@ -0,0 +1,177 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.source;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName.Form;
+
+/**
+ * Element-wise prefix tree over a fixed list of {@link ConfigurationPropertyName names}.
+ * Elements are keyed on their {@link Form#UNIFORM uniform} form so that tree navigation
+ * follows the same rules as {@link ConfigurationPropertyName#isAncestorOf}. Descendant
+ * checks cost {@code O(depth)} and descendant lookups only visit the matching subtree.
+ *
+ * @author roc
+ * @see SpringIterableConfigurationPropertySource
+ */
+final class ConfigurationPropertyNameTree {
+
+	private final List<ConfigurationPropertyName> names;
+
+	private final Node root = new Node();
+
+	/**
+	 * Create a new {@link ConfigurationPropertyNameTree} instance.
+	 * @param names the names to index, in source order
+	 */
+	ConfigurationPropertyNameTree(List<ConfigurationPropertyName> names) {
+		this.names = names;
+		for (int i = 0; i < names.size(); i++) {
+			add(names.get(i), i);
+		}
+	}
+
+	private void add(ConfigurationPropertyName name, int ordinal) {
+		Node node = this.root;
+		for (int i = 0; i < name.getNumberOfElements(); i++) {
+			node = node.getOrCreateChild(name.getElement(i, Form.UNIFORM));
+		}
+		node.addOrdinal(ordinal);
+	}
+
+	/**
+	 * Returns if the tree contains any descendants of the specified name.
+	 * @param name the name to check
+	 * @return {@link ConfigurationPropertyState#PRESENT} or
+	 * {@link ConfigurationPropertyState#ABSENT}
+	 */
+	ConfigurationPropertyState containsDescendantOf(ConfigurationPropertyName name) {
+		Node node = find(name);
+		return (node != null && node.hasChildren()) ? ConfigurationPropertyState.PRESENT
+				: ConfigurationPropertyState.ABSENT;
+	}
+
+	/**
+	 * Return all names that are descendants of the specified name, in source order.
+	 * @param name the ancestor name
+	 * @return the descendant names (never {@code null})
+	 */
+	List<ConfigurationPropertyName> getDescendants(ConfigurationPropertyName name) {
+		Node node = find(name);
+		if (node == null || !node.hasChildren()) {
+			return Collections.emptyList();
+		}
+		IntList ordinals = new IntList();
+		for (Node child : node.children.values()) {
+			child.collectOrdinals(ordinals);
+		}
+		int[] sorted = ordinals.toSortedArray();
+		List<ConfigurationPropertyName> result = new ArrayList<>(sorted.length);
+		for (int ordinal : sorted) {
+			result.add(this.names.get(ordinal));
+		}
+		return result;
+	}
+
+	private Node find(ConfigurationPropertyName name) {
+		Node node = this.root;
+		for (int i = 0; i < name.getNumberOfElements() && node != null; i++) {
+			node = node.getChild(name.getElement(i, Form.UNIFORM));
+		}
+		return node;
+	}
+
+	/**
+	 * A single element of the tree.
+	 */
+	private static class Node {
+
+		private Map<String, Node> children;
+
+		private int[] ordinals;
+
+		private int ordinalCount;
+
+		Node getChild(String element) {
+			return (this.children != null) ? this.children.get(element) : null;
+		}
+
+		Node getOrCreateChild(String element) {
+			if (this.children == null) {
+				this.children = new HashMap<>(4);
+			}
+			return this.children.computeIfAbsent(element, (key) -> new Node());
+		}
+
+		boolean hasChildren() {
+			return this.children != null && !this.children.isEmpty();
+		}
+
+		void addOrdinal(int ordinal) {
+			if (this.ordinals == null) {
+				this.ordinals = new int[1];
+			}
+			else if (this.ordinalCount == this.ordinals.length) {
+				this.ordinals = Arrays.copyOf(this.ordinals, this.ordinalCount * 2);
+			}
+			this.ordinals[this.ordinalCount++] = ordinal;
+		}
+
+		void collectOrdinals(IntList result) {
+			for (int i = 0; i < this.ordinalCount; i++) {
+				result.add(this.ordinals[i]);
+			}
+			if (this.children != null) {
+				for (Node child : this.children.values()) {
+					child.collectOrdinals(result);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Minimal growable {@code int} list used to collect ordinals without boxing.
+	 */
+	private static class IntList {
+
+		private int[] values = new int[16];
+
+		private int size;
+
+		void add(int value) {
+			if (this.size == this.values.length) {
+				this.values = Arrays.copyOf(this.values, this.size * 2);
+			}
+			this.values[this.size++] = value;
+		}
+
+		int[] toSortedArray() {
+			int[] result = Arrays.copyOf(this.values, this.size);
+			Arrays.sort(result);
+			return result;
+		}
+
+	}
+
+}
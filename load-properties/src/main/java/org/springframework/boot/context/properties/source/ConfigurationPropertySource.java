@@ -66,6 +66,18 @@ public interface ConfigurationPropertySource {
 		return new FilteredConfigurationPropertiesSource(this, filter);
 	}
 
+	/**
+	 * Return a filtered variant of this source, containing only names that are
+	 * descendants of the given name. Equivalent to {@code filter(name::isAncestorOf)}
+	 * but allows implementations to avoid testing every contained name.
+	 * @param name the ancestor name
+	 * @return a filtered {@link ConfigurationPropertySource} instance
+	 */
+	default ConfigurationPropertySource filterDescendantsOf(
+			ConfigurationPropertyName name) {
+		return filter(name::isAncestorOf);
+	}
+
 	/**
 	 * Return a variant of this source that supports name aliases.
 	 * @param aliases a function that returns a stream of aliases for any given name
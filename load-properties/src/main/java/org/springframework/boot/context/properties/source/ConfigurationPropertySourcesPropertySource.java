@@ -52,9 +52,8 @@ class ConfigurationPropertySourcesPropertySource
 
 	private ConfigurationProperty findConfigurationProperty(String name) {
 		try {
-			if (ConfigurationPropertyName.isValid(name)) {
-				return findConfigurationProperty(ConfigurationPropertyName.of(name));
-			}
+			return findConfigurationProperty(
+					ConfigurationPropertyNameCache.shared().ofIfValid(name));
 		}
 		catch (Exception ex) {
 		}
@@ -16,12 +16,13 @@
 
 package org.springframework.boot.context.properties.source;
 
-import org.springframework.util.ObjectUtils;
+import org.springframework.boot.util.ConcurrentLruCache;
 
 /**
  * Default {@link PropertyMapper} implementation. Names are mapped by removing invalid
  * characters and converting to lower case. For example "{@code my.server_name.PORT}" is
- * mapped to "{@code my.servername.port}".
+ * mapped to "{@code my.servername.port}". Recent mappings are kept in bounded least
+ * recently used caches.
  *
  * @author Phillip Webb
  * @author Madhura Bhave
@@ -32,44 +33,49 @@ final class DefaultPropertyMapper implements PropertyMapper {
 
 	public static final PropertyMapper INSTANCE = new DefaultPropertyMapper();
 
-	private LastMapping<ConfigurationPropertyName> lastMappedConfigurationPropertyName;
+	private static final int MAX_CACHED_MAPPINGS = 4096;
 
-	private LastMapping<String> lastMappedPropertyName;
+	private final ConcurrentLruCache<ConfigurationPropertyName, PropertyMapping[]>
+			configurationPropertyNameMappings = new ConcurrentLruCache<>(MAX_CACHED_MAPPINGS,
+					this::tryMap);
+
+	private final ConcurrentLruCache<String, PropertyMapping[]>
+			propertySourceNameMappings = new ConcurrentLruCache<>(MAX_CACHED_MAPPINGS,
+					this::tryMap);
 
 	private DefaultPropertyMapper() {
 	}
 
 	@Override
 	public PropertyMapping[] map(ConfigurationPropertyName configurationPropertyName) {
-		// Use a local copy in case another thread changes things
-		LastMapping<ConfigurationPropertyName> last = this.lastMappedConfigurationPropertyName;
-		if (last != null && last.isFrom(configurationPropertyName)) {
-			return last.getMapping();
+		PropertyMapping[] mapping = this.configurationPropertyNameMappings
+				.get(configurationPropertyName);
+		// Equal names may differ in their original form, which is used for the mapping
+		if (!mapping[0].getConfigurationPropertyName()
+				.isSameAs(configurationPropertyName)) {
+			return tryMap(configurationPropertyName);
 		}
+		return mapping;
+	}
+
+	private PropertyMapping[] tryMap(ConfigurationPropertyName configurationPropertyName) {
 		String convertedName = configurationPropertyName.toString();
-		PropertyMapping[] mapping = {
+		return new PropertyMapping[] {
 				new PropertyMapping(convertedName, configurationPropertyName) };
-		this.lastMappedConfigurationPropertyName = new LastMapping<>(
-				configurationPropertyName, mapping);
-		return mapping;
 	}
 
 	@Override
 	public PropertyMapping[] map(String propertySourceName) {
-		// Use a local copy in case another thread changes things
-		LastMapping<String> last = this.lastMappedPropertyName;
-		if (last != null && last.isFrom(propertySourceName)) {
-			return last.getMapping();
+		if (propertySourceName == null) {
+			return NO_MAPPINGS;
 		}
-		PropertyMapping[] mapping = tryMap(propertySourceName);
-		this.lastMappedPropertyName = new LastMapping<>(propertySourceName, mapping);
-		return mapping;
+		return this.propertySourceNameMappings.get(propertySourceName);
 	}
 
 	private PropertyMapping[] tryMap(String propertySourceName) {
 		try {
-			ConfigurationPropertyName convertedName = ConfigurationPropertyName
-					.adapt(propertySourceName, '.');
+			ConfigurationPropertyName convertedName = ConfigurationPropertyNameCache
+					.shared().adapt(propertySourceName);
 			if (!convertedName.isEmpty()) {
 				return new PropertyMapping[] {
 						new PropertyMapping(propertySourceName, convertedName) };
@@ -80,25 +86,14 @@ final class DefaultPropertyMapper implements PropertyMapper {
 		return NO_MAPPINGS;
 	}
 
-	private static class LastMapping<T> {
-
-		private final T from;
-
-		private final PropertyMapping[] mapping;
-
-		LastMapping(T from, PropertyMapping[] mapping) {
-			this.from = from;
-			this.mapping = mapping;
-		}
-
-		public boolean isFrom(T from) {
-			return ObjectUtils.nullSafeEquals(from, this.from);
-		}
-
-		public PropertyMapping[] getMapping() {
-			return this.mapping;
-		}
-
+	/**
+	 * Return a short description of the usage of the mapping caches.
+	 * @return the summary
+	 */
+	String getCacheSummary() {
+		return String.format("configuration property names: %s, property source names: %s",
+				this.configurationPropertyNameMappings.getSummary(),
+				this.propertySourceNameMappings.getSummary());
 	}
 
 }
@@ -17,6 +17,7 @@
 package org.springframework.boot.context.properties.source;
 
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
@@ -29,15 +30,32 @@ class FilteredIterableConfigurationPropertiesSource
 		extends FilteredConfigurationPropertiesSource
 		implements IterableConfigurationPropertySource {
 
+	private final Supplier<Stream<ConfigurationPropertyName>> candidates;
+
 	FilteredIterableConfigurationPropertiesSource(
 			IterableConfigurationPropertySource source,
 			Predicate<ConfigurationPropertyName> filter) {
+		this(source, filter, source::stream);
+	}
+
+	/**
+	 * Create a new {@link FilteredIterableConfigurationPropertiesSource} that only
+	 * considers the given candidate names when streaming.
+	 * @param source the source being filtered
+	 * @param filter the filter to apply
+	 * @param candidates supplies the subset of source names that may match the filter
+	 */
+	FilteredIterableConfigurationPropertiesSource(
+			IterableConfigurationPropertySource source,
+			Predicate<ConfigurationPropertyName> filter,
+			Supplier<Stream<ConfigurationPropertyName>> candidates) {
 		super(source, filter);
+		this.candidates = candidates;
 	}
 
 	@Override
 	public Stream<ConfigurationPropertyName> stream() {
-		return getSource().stream().filter(getFilter());
+		return this.candidates.get().filter(getFilter());
 	}
 
 	@Override
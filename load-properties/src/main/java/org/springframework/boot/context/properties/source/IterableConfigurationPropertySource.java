@@ -70,6 +70,12 @@ public interface IterableConfigurationPropertySource
 		return new FilteredIterableConfigurationPropertiesSource(this, filter);
 	}
 
+	@Override
+	default IterableConfigurationPropertySource filterDescendantsOf(
+			ConfigurationPropertyName name) {
+		return filter(name::isAncestorOf);
+	}
+
 	@Override
 	default IterableConfigurationPropertySource withAliases(
             ConfigurationPropertyNameAliases aliases) {
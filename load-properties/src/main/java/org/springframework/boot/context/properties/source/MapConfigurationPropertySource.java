@@ -39,6 +39,8 @@ public class MapConfigurationPropertySource
 
 	private final IterableConfigurationPropertySource delegate;
 
+	private volatile long modificationStamp;
+
 	/**
 	 * Create a new empty {@link MapConfigurationPropertySource} instance.
 	 */
@@ -54,7 +56,7 @@ public class MapConfigurationPropertySource
 	public MapConfigurationPropertySource(Map<?, ?> map) {
 		this.source = new LinkedHashMap<>();
 		this.delegate = new SpringIterableConfigurationPropertySource(
-				new MapPropertySource("source", this.source),
+				new StampedMapPropertySource("source", this.source),
 				DefaultPropertyMapper.INSTANCE);
 		putAll(map);
 	}
@@ -76,11 +78,12 @@ public class MapConfigurationPropertySource
 	 */
 	public void put(Object name, Object value) {
 		this.source.put((name != null) ? name.toString() : null, value);
+		this.modificationStamp++;
 	}
 
 	@Override
 	public Object getUnderlyingSource() {
-		return this.source;
+		return Collections.unmodifiableMap(this.source);
 	}
 
 	@Override
@@ -99,6 +102,19 @@ public class MapConfigurationPropertySource
 		return this.delegate.stream();
 	}
 
+	@Override
+	public ConfigurationPropertyState containsDescendantOf(
+			ConfigurationPropertyName name) {
+		return this.delegate.containsDescendantOf(name);
+	}
+
+	@Override
+	public IterableConfigurationPropertySource filterDescendantsOf(
+			ConfigurationPropertyName name) {
+		return new FilteredIterableConfigurationPropertiesSource(this,
+				name::isAncestorOf, () -> this.delegate.filterDescendantsOf(name).stream());
+	}
+
 	private void assertNotReadOnlySystemAttributesMap(Map<?, ?> map) {
 		try {
 			map.size();
@@ -109,4 +125,23 @@ public class MapConfigurationPropertySource
 		}
 	}
 
+	/**
+	 * {@link MapPropertySource} for the backing map that reports a modification stamp.
+	 * All changes are made through {@link #put(Object, Object)} so the stamp is bumped
+	 * whenever a key may have been added.
+	 */
+	private class StampedMapPropertySource extends MapPropertySource
+			implements ModificationStampedPropertySource {
+
+		StampedMapPropertySource(String name, Map<String, Object> source) {
+			super(name, source);
+		}
+
+		@Override
+		public long getModificationStamp() {
+			return MapConfigurationPropertySource.this.modificationStamp;
+		}
+
+	}
+
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.source;
+
+import org.springframework.core.env.EnumerablePropertySource;
+
+/**
+ * Interface that may be implemented by an {@link EnumerablePropertySource} that can
+ * cheaply report when its property names change. Allows
+ * {@link SpringIterableConfigurationPropertySource} to validate its cache in constant
+ * time rather than by comparing key sets.
+ *
+ * @author roc
+ * @see SpringIterableConfigurationPropertySource
+ */
+interface ModificationStampedPropertySource {
+
+	/**
+	 * Return a stamp that changes whenever the property names of the source change.
+	 * @return the current modification stamp
+	 */
+	long getModificationStamp();
+
+}
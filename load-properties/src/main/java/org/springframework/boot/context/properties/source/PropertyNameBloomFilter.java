@@ -0,0 +1,252 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.source;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compact Bloom filter over the names of a property source, used to skip sources that
+ * certainly do not contain a name without mapping it or probing the source.
+ * <p>
+ * Names are normalized to their letters and digits in upper case. All property source
+ * names that a {@link PropertyMapper} derives from a {@link ConfigurationPropertyName},
+ * all variants of those names tried by a
+ * {@link org.springframework.core.env.SystemEnvironmentPropertySource} and the name
+ * itself share that normalized form, so a relaxed lookup can be tested with a single
+ * pass over the characters and without allocating. Names containing other non ASCII
+ * characters are always considered as possibly present.
+ * <p>
+ * The filter counts the lookups it answers, the lookups it skips and the false positives
+ * reported by its users.
+ *
+ * @author roc
+ * @see PropertySourceBloomFilters
+ */
+public final class PropertyNameBloomFilter {
+
+	private static final int BITS_PER_NAME = 10;
+
+	private static final int HASH_FUNCTIONS = 5;
+
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private final long[] bits;
+
+	private final int mask;
+
+	private final LongAdder lookups = new LongAdder();
+
+	private final LongAdder skips = new LongAdder();
+
+	private final LongAdder falsePositives = new LongAdder();
+
+	/**
+	 * Create a new {@link PropertyNameBloomFilter} for the given names.
+	 * @param propertySourceNames the names of the property source
+	 * @param mappings the mappings of those names
+	 */
+	PropertyNameBloomFilter(String[] propertySourceNames, PropertyMapping[] mappings) {
+		int size = Long.SIZE;
+		while (size < (propertySourceNames.length + mappings.length) * BITS_PER_NAME) {
+			size <<= 1;
+		}
+		this.bits = new long[size / Long.SIZE];
+		this.mask = size - 1;
+		for (String name : propertySourceNames) {
+			add(hash(name));
+		}
+		for (PropertyMapping mapping : mappings) {
+			add(hash(mapping.getConfigurationPropertyName()));
+		}
+	}
+
+	private void add(long hash) {
+		int hash1 = (int) hash;
+		int hash2 = (int) (hash >>> 32);
+		for (int i = 0; i < HASH_FUNCTIONS; i++) {
+			int bit = (hash1 + i * hash2) & this.mask;
+			this.bits[bit >>> 6] |= 1L << bit;
+		}
+	}
+
+	/**
+	 * Return if the property source may contain a value for the given property source
+	 * name.
+	 * @param name the property source name
+	 * @return {@code false} if the name is certainly not present
+	 */
+	public boolean mightContain(String name) {
+		long hash = FNV_OFFSET_BASIS;
+		for (int i = 0; i < name.length(); i++) {
+			char ch = name.charAt(i);
+			if (ch >= 128) {
+				return record(true);
+			}
+			hash = hash(hash, ch);
+		}
+		return record(contains(hash));
+	}
+
+	/**
+	 * Return if the property source may contain a value for the given configuration
+	 * property name.
+	 * @param name the configuration property name
+	 * @return {@code false} if the name is certainly not present
+	 */
+	boolean mightContain(ConfigurationPropertyName name) {
+		long hash = FNV_OFFSET_BASIS;
+		for (int i = 0; i < name.getNumberOfElements(); i++) {
+			for (int j = 0; j < name.getElementLength(i); j++) {
+				char ch = name.charAt(i, j);
+				if (ch >= 128) {
+					return record(true);
+				}
+				hash = hash(hash, ch);
+			}
+		}
+		return record(contains(hash));
+	}
+
+	private boolean contains(long hash) {
+		int hash1 = (int) hash;
+		int hash2 = (int) (hash >>> 32);
+		for (int i = 0; i < HASH_FUNCTIONS; i++) {
+			int bit = (hash1 + i * hash2) & this.mask;
+			if ((this.bits[bit >>> 6] & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean record(boolean mightContain) {
+		this.lookups.increment();
+		if (!mightContain) {
+			this.skips.increment();
+		}
+		return mightContain;
+	}
+
+	/**
+	 * Record that a name for which {@link #mightContain} returned {@code true} was not
+	 * found in the property source.
+	 */
+	void recordFalsePositive() {
+		this.falsePositives.increment();
+	}
+
+	private static long hash(String name) {
+		long hash = FNV_OFFSET_BASIS;
+		for (int i = 0; i < name.length(); i++) {
+			hash = hash(hash, name.charAt(i));
+		}
+		return hash;
+	}
+
+	private static long hash(ConfigurationPropertyName name) {
+		long hash = FNV_OFFSET_BASIS;
+		for (int i = 0; i < name.getNumberOfElements(); i++) {
+			for (int j = 0; j < name.getElementLength(i); j++) {
+				hash = hash(hash, name.charAt(i, j));
+			}
+		}
+		return hash;
+	}
+
+	private static long hash(long hash, char ch) {
+		char normalized = normalize(ch);
+		return (normalized != 0) ? (hash ^ normalized) * FNV_PRIME : hash;
+	}
+
+	/**
+	 * Return the upper case form of a letter or digit, or {@code 0} for other
+	 * characters.
+	 */
+	private static char normalize(char ch) {
+		if (ch >= 'a' && ch <= 'z') {
+			return (char) (ch - 'a' + 'A');
+		}
+		if ((ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9')) {
+			return ch;
+		}
+		// Upper case of 'i' in Turkish locales
+		return (ch != '\u0130') ? 0 : 'I';
+	}
+
+	/**
+	 * Return the number of lookups answered by this filter.
+	 * @return the lookup count
+	 */
+	public long getLookupCount() {
+		return this.lookups.sum();
+	}
+
+	/**
+	 * Return the number of lookups for which the property source was skipped.
+	 * @return the skip count
+	 */
+	public long getSkipCount() {
+		return this.skips.sum();
+	}
+
+	/**
+	 * Return the number of lookups that were not skipped although the property source
+	 * did not contain the name.
+	 * @return the false positive count
+	 */
+	public long getFalsePositiveCount() {
+		return this.falsePositives.sum();
+	}
+
+	/**
+	 * Return the ratio of lookups for which the property source was skipped.
+	 * @return the skip rate, between {@code 0.0} and {@code 1.0}
+	 */
+	public double getSkipRate() {
+		long lookups = getLookupCount();
+		return (lookups != 0) ? (double) getSkipCount() / lookups : 0.0;
+	}
+
+	/**
+	 * Return the ratio of lookups for names not contained in the property source that
+	 * were not skipped.
+	 * @return the false positive rate, between {@code 0.0} and {@code 1.0}
+	 */
+	public double getFalsePositiveRate() {
+		long falsePositives = getFalsePositiveCount();
+		long negatives = getSkipCount() + falsePositives;
+		return (negatives != 0) ? (double) falsePositives / negatives : 0.0;
+	}
+
+	/**
+	 * Return a short description of the filter usage.
+	 * @return the summary
+	 */
+	public String getSummary() {
+		return String.format("%d bits (%d lookups, %d skipped, %d false positives)",
+				this.mask + 1, getLookupCount(), getSkipCount(),
+				getFalsePositiveCount());
+	}
+
+	@Override
+	public String toString() {
+		return getSummary();
+	}
+
+}
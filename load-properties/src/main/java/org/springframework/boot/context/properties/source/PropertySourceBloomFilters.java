@@ -0,0 +1,121 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.source;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ConcurrentReferenceHashMap.ReferenceType;
+
+/**
+ * {@link PropertyNameBloomFilter Bloom filters} for the names of Spring
+ * {@link PropertySource PropertySources}, used to skip sources that certainly do not
+ * contain a property when resolving names directly against the sources (for example
+ * placeholders). Only immutable {@link EnumerablePropertySource enumerable} sources are
+ * filtered, other sources are always queried. Sources are only weakly referenced, so an
+ * instance never keeps a source alive, and each user of the sources (for example a
+ * {@link org.springframework.boot.context.properties.bind.PropertySourcesPlaceholdersResolver})
+ * is expected to have its own instance.
+ *
+ * @author roc
+ * @see PropertyNameBloomFilter
+ */
+public final class PropertySourceBloomFilters {
+
+	private final Map<PropertySource<?>, Filter> filters = new IdentityReferenceHashMap<>();
+
+	/**
+	 * Return the value of the named property from the given property source, skipping
+	 * the source if its Bloom filter shows that the name is not present.
+	 * @param source the property source
+	 * @param name the property name
+	 * @return the value or {@code null}
+	 * @see PropertySource#getProperty(String)
+	 */
+	public Object getProperty(PropertySource<?> source, String name) {
+		PropertyNameBloomFilter bloomFilter = getBloomFilter(source);
+		if (bloomFilter != null && !bloomFilter.mightContain(name)) {
+			return null;
+		}
+		Object value = source.getProperty(name);
+		if (value == null && bloomFilter != null) {
+			bloomFilter.recordFalsePositive();
+		}
+		return value;
+	}
+
+	/**
+	 * Return the Bloom filter of the given property source, for example to inspect its
+	 * skip rate.
+	 * @param source the property source
+	 * @return the Bloom filter or {@code null} if the source is not filtered
+	 */
+	public PropertyNameBloomFilter getBloomFilter(PropertySource<?> source) {
+		if (!(source instanceof EnumerablePropertySource)
+				|| !SpringIterableConfigurationPropertySource
+						.isImmutable((EnumerablePropertySource<?>) source)) {
+			return null;
+		}
+		Filter filter = this.filters.get(source);
+		// Property sources are equal when their names are, check the actual source
+		if (filter == null || filter.source.get() != source) {
+			filter = new Filter(source, new PropertyNameBloomFilter(
+					((EnumerablePropertySource<?>) source).getPropertyNames(),
+					PropertyMapper.NO_MAPPINGS));
+			this.filters.put(source, filter);
+		}
+		return filter.bloomFilter;
+	}
+
+	/**
+	 * The Bloom filter of a property source.
+	 */
+	private static final class Filter {
+
+		private final WeakReference<PropertySource<?>> source;
+
+		private final PropertyNameBloomFilter bloomFilter;
+
+		Filter(PropertySource<?> source, PropertyNameBloomFilter bloomFilter) {
+			this.source = new WeakReference<>(source);
+			this.bloomFilter = bloomFilter;
+		}
+
+	}
+
+	/**
+	 * {@link ConcurrentReferenceHashMap} with weak keys that hashes keys by identity,
+	 * since property sources with the same name are equal.
+	 */
+	private static class IdentityReferenceHashMap<K, V>
+			extends ConcurrentReferenceHashMap<K, V> {
+
+		IdentityReferenceHashMap() {
+			super(16, ReferenceType.WEAK);
+		}
+
+		@Override
+		protected int getHash(Object o) {
+			return super.getHash(System.identityHashCode(o));
+		}
+
+	}
+
+}
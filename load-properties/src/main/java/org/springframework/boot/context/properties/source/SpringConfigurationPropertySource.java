@@ -16,9 +16,7 @@
 
 package org.springframework.boot.context.properties.source;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.function.Function;
@@ -116,7 +114,7 @@ class SpringConfigurationPropertySource implements ConfigurationPropertySource {
 
 	private ConfigurationProperty find(PropertyMapping mapping) {
 		String propertySourceName = mapping.getPropertySourceName();
-		Object value = getPropertySource().getProperty(propertySourceName);
+		Object value = getValue(propertySourceName);
 		if (value == null) {
 			return null;
 		}
@@ -126,6 +124,15 @@ class SpringConfigurationPropertySource implements ConfigurationPropertySource {
 		return ConfigurationProperty.of(configurationPropertyName, value, origin);
 	}
 
+	/**
+	 * Return the value of the given property source name.
+	 * @param propertySourceName the property source name
+	 * @return the value or {@code null}
+	 */
+	protected Object getValue(String propertySourceName) {
+		return getPropertySource().getProperty(propertySourceName);
+	}
+
 	protected PropertySource<?> getPropertySource() {
 		return this.propertySource;
 	}
@@ -236,15 +243,28 @@ class SpringConfigurationPropertySource implements ConfigurationPropertySource {
 
 		private PropertyMapping[] callMappers(
 				Function<PropertyMapper, PropertyMapping[]> function) {
-			List<PropertyMapping> mappings = new ArrayList<>();
+			PropertyMapping[] result = NO_MAPPINGS;
 			for (PropertyMapper mapper : this.mappers) {
 				try {
-					mappings.addAll(Arrays.asList(function.apply(mapper)));
+					result = concat(result, function.apply(mapper));
 				}
 				catch (Exception ex) {
 				}
 			}
-			return mappings.toArray(new PropertyMapping[] {});
+			return result;
+		}
+
+		private PropertyMapping[] concat(PropertyMapping[] first,
+				PropertyMapping[] second) {
+			if (second.length == 0) {
+				return first;
+			}
+			if (first.length == 0) {
+				return second;
+			}
+			PropertyMapping[] result = Arrays.copyOf(first, first.length + second.length);
+			System.arraycopy(second, 0, result, first.length, second.length);
+			return result;
 		}
 
 	}
@@ -18,12 +18,17 @@ package org.springframework.boot.context.properties.source;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
 
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.boot.util.StringInterner;
+import org.springframework.boot.util.StringInternerAware;
 import org.springframework.core.env.EnumerablePropertySource;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.PropertySource;
@@ -69,10 +74,18 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 	@Override
 	public ConfigurationProperty getConfigurationProperty(
 			ConfigurationPropertyName name) {
+		Cache cache = getCache();
+		PropertyNameBloomFilter bloomFilter = getBloomFilter(cache);
+		if (bloomFilter != null && !bloomFilter.mightContain(name)) {
+			return null;
+		}
 		ConfigurationProperty configurationProperty = super.getConfigurationProperty(
 				name);
 		if (configurationProperty == null) {
-			configurationProperty = find(getPropertyMappings(getCache()), name);
+			configurationProperty = find(getPropertyMappings(cache, name), name);
+		}
+		if (configurationProperty == null && bloomFilter != null) {
+			bloomFilter.recordFalsePositive();
 		}
 		return configurationProperty;
 	}
@@ -90,11 +103,33 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 	@Override
 	public ConfigurationPropertyState containsDescendantOf(
 			ConfigurationPropertyName name) {
-		return ConfigurationPropertyState.search(this, name::isAncestorOf);
+		return getNameTree().containsDescendantOf(name);
 	}
 
-	private List<ConfigurationPropertyName> getConfigurationPropertyNames() {
+	@Override
+	public IterableConfigurationPropertySource filterDescendantsOf(
+			ConfigurationPropertyName name) {
+		return new FilteredIterableConfigurationPropertiesSource(this,
+				name::isAncestorOf, () -> getNameTree().getDescendants(name).stream());
+	}
+
+	private ConfigurationPropertyNameTree getNameTree() {
 		Cache cache = getCache();
+		ConfigurationPropertyNameTree tree = (cache != null) ? cache.getTree() : null;
+		if (tree == null) {
+			tree = new ConfigurationPropertyNameTree(getConfigurationPropertyNames(cache));
+			if (cache != null) {
+				cache.setTree(tree);
+			}
+		}
+		return tree;
+	}
+
+	private List<ConfigurationPropertyName> getConfigurationPropertyNames() {
+		return getConfigurationPropertyNames(getCache());
+	}
+
+	private List<ConfigurationPropertyName> getConfigurationPropertyNames(Cache cache) {
 		List<ConfigurationPropertyName> names = (cache != null) ? cache.getNames() : null;
 		if (names != null) {
 			return names;
@@ -117,10 +152,11 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 			return result;
 		}
 		String[] names = getPropertySource().getPropertyNames();
+		StringInterner interner = getStringInterner();
 		List<PropertyMapping> mappings = new ArrayList<>(names.length * 2);
 		for (String name : names) {
 			for (PropertyMapping mapping : getMapper().map(name)) {
-				mappings.add(mapping);
+				mappings.add((interner != null) ? intern(mapping, interner) : mapping);
 			}
 		}
 		result = mappings.toArray(new PropertyMapping[0]);
@@ -130,17 +166,119 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 		return result;
 	}
 
+	private StringInterner getStringInterner() {
+		if (getPropertySource() instanceof StringInternerAware) {
+			return ((StringInternerAware) getPropertySource()).getStringInterner();
+		}
+		return null;
+	}
+
+	/**
+	 * Return a mapping whose name is backed by the canonical string of its elements. The
+	 * mappers cache and share the names they create, so interned names are new
+	 * instances rather than updated ones.
+	 */
+	private PropertyMapping intern(PropertyMapping mapping, StringInterner interner) {
+		ConfigurationPropertyName name = mapping.getConfigurationPropertyName();
+		ConfigurationPropertyName interned = name.intern(interner);
+		return (interned != name)
+				? new PropertyMapping(mapping.getPropertySourceName(), interned) : mapping;
+	}
+
+	/**
+	 * Return the {@link PropertyNameBloomFilter} of the current names of the property
+	 * source.
+	 * @return the Bloom filter or {@code null}
+	 */
+	PropertyNameBloomFilter getBloomFilter() {
+		return getBloomFilter(getCache());
+	}
+
+	private PropertyNameBloomFilter getBloomFilter(Cache cache) {
+		if (cache == null) {
+			return null;
+		}
+		PropertyNameBloomFilter bloomFilter = cache.getBloomFilter();
+		if (bloomFilter == null) {
+			bloomFilter = new PropertyNameBloomFilter(
+					getPropertySource().getPropertyNames(), getPropertyMappings(cache));
+			cache.setBloomFilter(bloomFilter);
+		}
+		return bloomFilter;
+	}
+
+	private PropertyMapping[] getPropertyMappings(Cache cache,
+			ConfigurationPropertyName name) {
+		Map<ConfigurationPropertyName, PropertyMapping[]> index = (cache != null)
+				? cache.getIndex() : null;
+		if (index == null) {
+			PropertyMapping[] mappings = getPropertyMappings(cache);
+			if (cache == null) {
+				return mappings;
+			}
+			index = buildIndex(mappings);
+			cache.setIndex(index);
+		}
+		return index.getOrDefault(name, PropertyMapper.NO_MAPPINGS);
+	}
+
+	private Map<ConfigurationPropertyName, PropertyMapping[]> buildIndex(
+			PropertyMapping[] mappings) {
+		Map<ConfigurationPropertyName, List<PropertyMapping>> grouped = new HashMap<>(
+				mappings.length * 4 / 3 + 1);
+		for (PropertyMapping mapping : mappings) {
+			grouped.computeIfAbsent(mapping.getConfigurationPropertyName(),
+					(key) -> new ArrayList<>(1)).add(mapping);
+		}
+		Map<ConfigurationPropertyName, PropertyMapping[]> index = new HashMap<>(
+				grouped.size() * 4 / 3 + 1);
+		grouped.forEach((key, value) -> index.put(key,
+				value.toArray(new PropertyMapping[0])));
+		return index;
+	}
+
+	@Override
+	protected Object getValue(String propertySourceName) {
+		SystemEnvironmentIndex index = getEnvironmentIndex();
+		if (index != null) {
+			return index.getValue(propertySourceName);
+		}
+		return super.getValue(propertySourceName);
+	}
+
+	private SystemEnvironmentIndex getEnvironmentIndex() {
+		if (!(getPropertySource() instanceof SystemEnvironmentPropertySource)) {
+			return null;
+		}
+		Cache cache = getCache();
+		if (cache != null && cache.isImmutable()) {
+			return cache.getEnvironmentIndex(getPropertySource());
+		}
+		return null;
+	}
+
+	/**
+	 * Return if the given property source is known to never change.
+	 * @param propertySource the property source
+	 * @return if the property source is immutable
+	 */
+	static boolean isImmutable(EnumerablePropertySource<?> propertySource) {
+		return CacheKey.isImmutable(propertySource);
+	}
+
 	private Cache getCache() {
 		CacheKey cacheKey = CacheKey.get(getPropertySource());
 		if (cacheKey == null) {
 			return null;
 		}
-		if (ObjectUtils.nullSafeEquals(cacheKey, this.cacheKey)) {
-			return this.cache;
+		Cache cache = this.cache;
+		if (cache != null && cacheKey.equals(this.cacheKey)) {
+			return cache;
 		}
-		this.cache = new Cache();
+		cache = new Cache(cacheKey == CacheKey.IMMUTABLE);
 		this.cacheKey = cacheKey.copy();
-		return this.cache;
+		this.cache = cache;
+		return cache;
 	}
 
 	@Override
@@ -150,10 +288,30 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 
 	private static class Cache {
 
+		private final boolean immutable;
+
 		private List<ConfigurationPropertyName> names;
 
 		private PropertyMapping[] mappings;
 
+		private Map<ConfigurationPropertyName, PropertyMapping[]> index;
+
+		private ConfigurationPropertyNameTree tree;
+
+		private PropertyNameBloomFilter bloomFilter;
+
+		private SystemEnvironmentIndex environmentIndex;
+
+		private boolean environmentIndexed;
+
+		Cache(boolean immutable) {
+			this.immutable = immutable;
+		}
+
+		public boolean isImmutable() {
+			return this.immutable;
+		}
+
 		public List<ConfigurationPropertyName> getNames() {
 			return this.names;
 		}
@@ -170,10 +328,45 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 			this.mappings = mappings;
 		}
 
+		public Map<ConfigurationPropertyName, PropertyMapping[]> getIndex() {
+			return this.index;
+		}
+
+		public void setIndex(Map<ConfigurationPropertyName, PropertyMapping[]> index) {
+			this.index = index;
+		}
+
+		public ConfigurationPropertyNameTree getTree() {
+			return this.tree;
+		}
+
+		public void setTree(ConfigurationPropertyNameTree tree) {
+			this.tree = tree;
+		}
+
+		public PropertyNameBloomFilter getBloomFilter() {
+			return this.bloomFilter;
+		}
+
+		public void setBloomFilter(PropertyNameBloomFilter bloomFilter) {
+			this.bloomFilter = bloomFilter;
+		}
+
+		public SystemEnvironmentIndex getEnvironmentIndex(
+				EnumerablePropertySource<?> propertySource) {
+			if (!this.environmentIndexed) {
+				this.environmentIndex = SystemEnvironmentIndex.of(propertySource);
+				this.environmentIndexed = true;
+			}
+			return this.environmentIndex;
+		}
+
 	}
 
 	private static final class CacheKey {
 
+		private static final CacheKey IMMUTABLE = new CacheKey(new Object());
+
 		private final Object key;
 
 		private CacheKey(Object key) {
@@ -188,7 +381,10 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 			if (key instanceof Set) {
 				return new HashSet<Object>((Set<?>) key);
 			}
-			return ((String[]) key).clone();
+			if (key instanceof String[]) {
+				return ((String[]) key).clone();
+			}
+			return key;
 		}
 
 		@Override
@@ -208,12 +404,30 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 		}
 
 		public static CacheKey get(EnumerablePropertySource<?> source) {
+			if (isImmutable(source)) {
+				return IMMUTABLE;
+			}
+			if (source instanceof ModificationStampedPropertySource) {
+				return new CacheKey(((ModificationStampedPropertySource) source)
+						.getModificationStamp());
+			}
 			if (source instanceof MapPropertySource) {
 				return new CacheKey(((MapPropertySource) source).getSource().keySet());
 			}
 			return new CacheKey(source.getPropertyNames());
 		}
 
+		private static boolean isImmutable(EnumerablePropertySource<?> source) {
+			if (source instanceof OriginLookup
+					&& ((OriginLookup<?>) source).isImmutable()) {
+				return true;
+			}
+			if (source instanceof SystemEnvironmentPropertySource) {
+				return source.getSource() == System.getenv();
+			}
+			return false;
+		}
+
 	}
 
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.source;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.SystemEnvironmentPropertySource;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * One-time index of the variables of an immutable system environment. Values are
+ * resolved with the same rules as {@link SystemEnvironmentPropertySource#getProperty}
+ * but without probing the environment for every variant of a name: a variable with
+ * exactly the given name is found with a single hash lookup, and names for which no
+ * variable exists in any variant are rejected from a table of normalized variable names
+ * without allocating. Other names fall back to the property source.
+ *
+ * @author roc
+ * @see SpringIterableConfigurationPropertySource
+ */
+final class SystemEnvironmentIndex {
+
+	private final EnumerablePropertySource<?> propertySource;
+
+	private final Map<String, Object> values;
+
+	private final String[] normalizedNames;
+
+	private SystemEnvironmentIndex(EnumerablePropertySource<?> propertySource) {
+		this.propertySource = propertySource;
+		String[] names = propertySource.getPropertyNames();
+		this.values = new HashMap<>(names.length * 4 / 3 + 1);
+		this.normalizedNames = new String[tableSize(names.length)];
+		for (String name : names) {
+			this.values.put(name, propertySource.getProperty(name));
+			addNormalizedName(name);
+		}
+	}
+
+	private static int tableSize(int size) {
+		int tableSize = 16;
+		while (tableSize < size * 2) {
+			tableSize <<= 1;
+		}
+		return tableSize;
+	}
+
+	private void addNormalizedName(String name) {
+		int hash = 0;
+		for (int i = 0; i < name.length(); i++) {
+			hash = 31 * hash + normalize(name.charAt(i));
+		}
+		int slot = findSlot(name, hash);
+		if (this.normalizedNames[slot] == null) {
+			StringBuilder normalized = new StringBuilder(name.length());
+			for (int i = 0; i < name.length(); i++) {
+				normalized.append(normalize(name.charAt(i)));
+			}
+			this.normalizedNames[slot] = normalized.toString();
+		}
+	}
+
+	/**
+	 * Return the value that the system environment property source would return for
+	 * the given property name.
+	 * @param name the property name
+	 * @return the value or {@code null}
+	 */
+	Object getValue(String name) {
+		// An exact match is always the first variant tried
+		Object value = this.values.get(name);
+		if (value != null) {
+			return value;
+		}
+		int hash = 0;
+		for (int i = 0; i < name.length(); i++) {
+			char ch = name.charAt(i);
+			if (ch >= 128) {
+				return this.propertySource.getProperty(name);
+			}
+			hash = 31 * hash + normalize(ch);
+		}
+		if (this.normalizedNames[findSlot(name, hash)] == null) {
+			// No variable matches any variant of the name
+			return null;
+		}
+		return this.propertySource.getProperty(name);
+	}
+
+	private int findSlot(String name, int hash) {
+		int mask = this.normalizedNames.length - 1;
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		String candidate;
+		while ((candidate = this.normalizedNames[slot]) != null
+				&& !isNormalizedForm(candidate, name)) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private boolean isNormalizedForm(String normalized, String name) {
+		if (normalized.length() != name.length()) {
+			return false;
+		}
+		for (int i = 0; i < name.length(); i++) {
+			if (normalized.charAt(i) != normalize(name.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Normalize a character so that all variants of a name tried by
+	 * {@link SystemEnvironmentPropertySource} have the same normalized form.
+	 */
+	private static char normalize(char ch) {
+		if (ch == '.' || ch == '-') {
+			return '_';
+		}
+		if (ch >= 'a' && ch <= 'z') {
+			return (char) (ch - 'a' + 'A');
+		}
+		// Upper case of 'i' in Turkish locales
+		return (ch != '\u0130') ? ch : 'I';
+	}
+
+	/**
+	 * Create a {@link SystemEnvironmentIndex} for the given property source if it is a
+	 * {@link SystemEnvironmentPropertySource} that resolves names with the standard
+	 * rules.
+	 * @param propertySource the property source
+	 * @return the index or {@code null}
+	 */
+	static SystemEnvironmentIndex of(EnumerablePropertySource<?> propertySource) {
+		if (!(propertySource instanceof SystemEnvironmentPropertySource)) {
+			return null;
+		}
+		Method getProperty = ReflectionUtils.findMethod(propertySource.getClass(),
+				"getProperty", String.class);
+		if (getProperty == null || getProperty
+				.getDeclaringClass() != SystemEnvironmentPropertySource.class) {
+			return null;
+		}
+		return new SystemEnvironmentIndex(propertySource);
+	}
+
+}
@@ -19,13 +19,14 @@ package org.springframework.boot.context.properties.source;
 import java.util.Locale;
 
 import org.springframework.boot.context.properties.source.ConfigurationPropertyName.Form;
+import org.springframework.boot.util.ConcurrentLruCache;
 
 /**
  * {@link PropertyMapper} for system environment variables. Names are mapped by removing
  * invalid characters, converting to lower case and replacing "{@code _}" with
  * "{@code .}". For example, "{@code SERVER_PORT}" is mapped to "{@code server.port}". In
  * addition, numeric elements are mapped to indexes (e.g. "{@code HOST_0}" is mapped to
- * "{@code host[0]}").
+ * "{@code host[0]}"). Recent mappings are kept in bounded least recently used caches.
  *
  * @author Phillip Webb
  * @author Madhura Bhave
@@ -36,8 +37,32 @@ final class SystemEnvironmentPropertyMapper implements PropertyMapper {
 
 	public static final PropertyMapper INSTANCE = new SystemEnvironmentPropertyMapper();
 
+	private static final int MAX_CACHED_MAPPINGS = 4096;
+
+	private final ConcurrentLruCache<ConfigurationPropertyName, PropertyMapping[]>
+			configurationPropertyNameMappings = new ConcurrentLruCache<>(MAX_CACHED_MAPPINGS,
+					this::tryMap);
+
+	private final ConcurrentLruCache<String, PropertyMapping[]>
+			propertySourceNameMappings = new ConcurrentLruCache<>(MAX_CACHED_MAPPINGS,
+					this::tryMap);
+
+	private SystemEnvironmentPropertyMapper() {
+	}
+
 	@Override
 	public PropertyMapping[] map(ConfigurationPropertyName configurationPropertyName) {
+		PropertyMapping[] mapping = this.configurationPropertyNameMappings
+				.get(configurationPropertyName);
+		// Equal names may differ in their original form, which is used for the mapping
+		if (!mapping[0].getConfigurationPropertyName()
+				.isSameAs(configurationPropertyName)) {
+			return tryMap(configurationPropertyName);
+		}
+		return mapping;
+	}
+
+	private PropertyMapping[] tryMap(ConfigurationPropertyName configurationPropertyName) {
 		String name = convertName(configurationPropertyName);
 		String legacyName = convertLegacyName(configurationPropertyName);
 		if (name.equals(legacyName)) {
@@ -51,6 +76,13 @@ final class SystemEnvironmentPropertyMapper implements PropertyMapper {
 
 	@Override
 	public PropertyMapping[] map(String propertySourceName) {
+		if (propertySourceName == null) {
+			return NO_MAPPINGS;
+		}
+		return this.propertySourceNameMappings.get(propertySourceName);
+	}
+
+	private PropertyMapping[] tryMap(String propertySourceName) {
 		ConfigurationPropertyName name = convertName(propertySourceName);
 		if (name == null || name.isEmpty()) {
 			return NO_MAPPINGS;
@@ -58,6 +90,16 @@ final class SystemEnvironmentPropertyMapper implements PropertyMapper {
 		return new PropertyMapping[] { new PropertyMapping(propertySourceName, name) };
 	}
 
+	/**
+	 * Return a short description of the usage of the mapping caches.
+	 * @return the summary
+	 */
+	String getCacheSummary() {
+		return String.format("configuration property names: %s, property source names: %s",
+				this.configurationPropertyNameMappings.getSummary(),
+				this.propertySourceNameMappings.getSummary());
+	}
+
 	private ConfigurationPropertyName convertName(String propertySourceName) {
 		try {
 			return ConfigurationPropertyName.adapt(propertySourceName, '_',
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.convert;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lookup of the constants of an {@link Enum} by name, either exactly or ignoring case
+ * and any character that is not a letter or a digit (so that {@code exactly-once}
+ * matches {@code EXACTLY_ONCE}). The names are indexed once per enum type so that
+ * lookups neither iterate the constants nor throw exceptions.
+ *
+ * @author roc
+ * @see #get(Class)
+ */
+public final class EnumConstantLookup {
+
+	private static final ClassValue<EnumConstantLookup> lookups = new Lookups();
+
+	private final Class<?> enumType;
+
+	private final Map<String, Enum<?>> names = new HashMap<>();
+
+	private final Map<String, Enum<?>> canonicalNames = new HashMap<>();
+
+	private EnumConstantLookup(Class<?> enumType) {
+		this.enumType = enumType;
+		for (Object constant : enumType.getEnumConstants()) {
+			Enum<?> candidate = (Enum<?>) constant;
+			this.names.put(candidate.name(), candidate);
+			this.canonicalNames.putIfAbsent(getLettersAndDigits(candidate.name()),
+					candidate);
+		}
+	}
+
+	/**
+	 * Return the lookup for the given enum type.
+	 * @param enumType the enum type
+	 * @return the lookup
+	 * @throws IllegalArgumentException if the type is not an enum
+	 */
+	public static EnumConstantLookup get(Class<?> enumType) {
+		if (enumType == null || !enumType.isEnum()) {
+			throw new IllegalArgumentException(
+					"The target type " + enumType + " does not refer to an enum");
+		}
+		return lookups.get(enumType);
+	}
+
+	/**
+	 * Return the enum type of this lookup.
+	 * @return the enum type
+	 */
+	public Class<?> getEnumType() {
+		return this.enumType;
+	}
+
+	/**
+	 * Return the constant with the given name, or with the same letters and digits
+	 * ignoring case.
+	 * @param name the name of the constant
+	 * @return the constant or {@code null}
+	 */
+	public Enum<?> find(String name) {
+		Enum<?> constant = this.names.get(name);
+		return (constant != null) ? constant
+				: this.canonicalNames.get(getLettersAndDigits(name));
+	}
+
+	private static String getLettersAndDigits(String name) {
+		StringBuilder canonicalName = new StringBuilder(name.length());
+		name.chars().map((c) -> (char) c).filter(Character::isLetterOrDigit)
+				.map(Character::toLowerCase).forEach(canonicalName::append);
+		return canonicalName.toString();
+	}
+
+	/**
+	 * Creates the {@link EnumConstantLookup} of each enum type on first use.
+	 */
+	private static class Lookups extends ClassValue<EnumConstantLookup> {
+
+		@Override
+		protected EnumConstantLookup computeValue(Class<?> type) {
+			return new EnumConstantLookup(type);
+		}
+
+	}
+
+}
@@ -16,9 +16,6 @@
 
 package org.springframework.boot.convert;
 
-import java.util.EnumSet;
-import java.util.Set;
-
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.core.convert.converter.ConverterFactory;
 import org.springframework.util.Assert;
@@ -28,6 +25,7 @@ import org.springframework.util.Assert;
  * names (ignoring case).
  *
  * @author Phillip Webb
+ * @see EnumConstantLookup
  */
 @SuppressWarnings({ "unchecked", "rawtypes" })
 final class StringToEnumIgnoringCaseConverterFactory
@@ -46,10 +44,10 @@ final class StringToEnumIgnoringCaseConverterFactory
 
 	private class StringToEnum<T extends Enum> implements Converter<String, T> {
 
-		private final Class<T> enumType;
+		private final EnumConstantLookup lookup;
 
 		StringToEnum(Class<T> enumType) {
-			this.enumType = enumType;
+			this.lookup = EnumConstantLookup.get(enumType);
 		}
 
 		@Override
@@ -58,30 +56,12 @@ final class StringToEnumIgnoringCaseConverterFactory
 				return null;
 			}
 			source = source.trim();
-			try {
-				return (T) Enum.valueOf(this.enumType, source);
-			}
-			catch (Exception ex) {
-				return findEnum(source);
+			T candidate = (T) this.lookup.find(source);
+			if (candidate == null) {
+				throw new IllegalArgumentException("No enum constant "
+						+ this.lookup.getEnumType().getCanonicalName() + "." + source);
 			}
-		}
-
-		private T findEnum(String source) {
-			String name = getLettersAndDigits(source);
-			for (T candidate : (Set<T>) EnumSet.allOf(this.enumType)) {
-				if (getLettersAndDigits(candidate.name()).equals(name)) {
-					return candidate;
-				}
-			}
-			throw new IllegalArgumentException("No enum constant "
-					+ this.enumType.getCanonicalName() + "." + source);
-		}
-
-		private String getLettersAndDigits(String name) {
-			StringBuilder canonicalName = new StringBuilder(name.length());
-			name.chars().map((c) -> (char) c).filter(Character::isLetterOrDigit)
-					.map(Character::toLowerCase).forEach(canonicalName::append);
-			return canonicalName.toString();
+			return candidate;
 		}
 
 	}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.env;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.springframework.boot.origin.Origin;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.boot.origin.TextResourceOrigin;
+import org.springframework.boot.origin.TextResourceOrigin.Location;
+import org.springframework.boot.util.StringInterner;
+import org.springframework.core.io.Resource;
+
+/**
+ * Insertion ordered, read-only map of the raw values loaded from a single text resource.
+ * Instead of wrapping every value in an {@link org.springframework.boot.origin.OriginTrackedValue
+ * OriginTrackedValue}, the line and column of each entry are kept in parallel {@code int}
+ * arrays and {@link TextResourceOrigin} instances are only created when an origin is
+ * requested. Entries are located through an open addressing table of entry indexes.
+ * <p>
+ * Entries are added by the loaders while parsing; the map cannot be modified afterwards.
+ *
+ * @author roc
+ * @see OriginTrackedMapPropertySource
+ */
+final class CompactOriginTrackedMap extends AbstractMap<String, Object>
+		implements OriginLookup<String> {
+
+	private static final int NO_POSITION = -1;
+
+	private final Resource resource;
+
+	private String[] keys;
+
+	private Object[] values;
+
+	private int[] lines;
+
+	private int[] columns;
+
+	private int[] table;
+
+	private int size;
+
+	private Set<Map.Entry<String, Object>> entrySet;
+
+	/**
+	 * Create a new {@link CompactOriginTrackedMap} instance.
+	 * @param resource the resource the entries are loaded from
+	 * @param trackOrigins if the position of each entry should be recorded
+	 */
+	CompactOriginTrackedMap(Resource resource, boolean trackOrigins) {
+		this.resource = resource;
+		this.keys = new String[16];
+		this.values = new Object[16];
+		this.lines = trackOrigins ? new int[16] : null;
+		this.columns = trackOrigins ? new int[16] : null;
+		this.table = new int[32];
+	}
+
+	/**
+	 * Add an entry without a position.
+	 * @param key the key
+	 * @param value the value
+	 */
+	void add(String key, Object value) {
+		add(key, value, NO_POSITION, NO_POSITION);
+	}
+
+	/**
+	 * Add an entry. An existing entry keeps its position in the iteration order but takes
+	 * the new value and origin, like {@link java.util.LinkedHashMap#put}.
+	 * @param key the key
+	 * @param value the value
+	 * @param line the zero based line of the value
+	 * @param column the zero based column of the value
+	 */
+	void add(String key, Object value, int line, int column) {
+		int slot = findSlot(key);
+		int index = this.table[slot] - 1;
+		if (index < 0) {
+			index = this.size++;
+			ensureCapacity();
+			this.keys[index] = key;
+			slot = (this.size * 2 > this.table.length) ? rehash(key) : slot;
+			this.table[slot] = index + 1;
+		}
+		this.values[index] = value;
+		if (this.lines != null) {
+			this.lines[index] = line;
+			this.columns[index] = column;
+		}
+	}
+
+	/**
+	 * Replace the keys and values of this map by their canonical instances.
+	 * @param interner the interner to use
+	 */
+	void intern(StringInterner interner) {
+		for (int i = 0; i < this.size; i++) {
+			this.keys[i] = interner.intern(this.keys[i]);
+			this.values[i] = interner.internValue(this.values[i]);
+		}
+	}
+
+	private void ensureCapacity() {
+		if (this.size > this.keys.length) {
+			int capacity = this.keys.length * 2;
+			this.keys = Arrays.copyOf(this.keys, capacity);
+			this.values = Arrays.copyOf(this.values, capacity);
+			if (this.lines != null) {
+				this.lines = Arrays.copyOf(this.lines, capacity);
+				this.columns = Arrays.copyOf(this.columns, capacity);
+			}
+		}
+	}
+
+	private int rehash(String key) {
+		this.table = new int[this.table.length * 2];
+		for (int i = 0; i < this.size - 1; i++) {
+			this.table[findSlot(this.keys[i])] = i + 1;
+		}
+		return findSlot(key);
+	}
+
+	private int findSlot(Object key) {
+		int hash = key.hashCode();
+		int mask = this.table.length - 1;
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		while (this.table[slot] != 0 && !this.keys[this.table[slot] - 1].equals(key)) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private int indexOf(Object key) {
+		return (key != null) ? this.table[findSlot(key)] - 1 : -1;
+	}
+
+	@Override
+	public Object get(Object key) {
+		int index = indexOf(key);
+		return (index >= 0) ? this.values[index] : null;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return indexOf(key) >= 0;
+	}
+
+	@Override
+	public int size() {
+		return this.size;
+	}
+
+	@Override
+	public Origin getOrigin(String key) {
+		int index = indexOf(key);
+		if (index < 0 || this.lines == null || this.lines[index] == NO_POSITION) {
+			return null;
+		}
+		Location location = new Location(this.lines[index], this.columns[index]);
+		return new TextResourceOrigin(this.resource, location);
+	}
+
+	@Override
+	public boolean isImmutable() {
+		return true;
+	}
+
+	@Override
+	public Set<Map.Entry<String, Object>> entrySet() {
+		if (this.entrySet == null) {
+			this.entrySet = new EntrySet();
+		}
+		return this.entrySet;
+	}
+
+	/**
+	 * Return a read-only view of the given map, which is the map itself if it already is
+	 * a {@link CompactOriginTrackedMap}.
+	 * @param map the source map
+	 * @return a read-only map
+	 */
+	static Map<String, ?> unmodifiable(Map<String, ?> map) {
+		return (map instanceof CompactOriginTrackedMap) ? map
+				: Collections.unmodifiableMap(map);
+	}
+
+	/**
+	 * Entry set view iterating in insertion order.
+	 */
+	private final class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+		@Override
+		public Iterator<Map.Entry<String, Object>> iterator() {
+			return new Iterator<Map.Entry<String, Object>>() {
+
+				private int index;
+
+				@Override
+				public boolean hasNext() {
+					return this.index < CompactOriginTrackedMap.this.size;
+				}
+
+				@Override
+				public Map.Entry<String, Object> next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+					int current = this.index++;
+					return new SimpleImmutableEntry<>(
+							CompactOriginTrackedMap.this.keys[current],
+							CompactOriginTrackedMap.this.values[current]);
+				}
+
+			};
+		}
+
+		@Override
+		public int size() {
+			return CompactOriginTrackedMap.this.size;
+		}
+
+	}
+
+}
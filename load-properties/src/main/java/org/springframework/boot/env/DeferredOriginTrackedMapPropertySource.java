@@ -0,0 +1,112 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.env;
+
+import java.util.Map;
+
+import org.springframework.boot.env.OriginTrackedYamlEventLoader.DeferredDocument;
+import org.springframework.boot.origin.Origin;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.boot.origin.OriginTrackedValue;
+import org.springframework.boot.util.StringInterner;
+import org.springframework.boot.util.StringInternerAware;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link OriginLookup} backed by a YAML document that is flattened on first access.
+ * Behaves like an immutable {@link OriginTrackedMapPropertySource} once loaded.
+ *
+ * @author roc
+ * @see OriginTrackedYamlEventLoader
+ */
+final class DeferredOriginTrackedMapPropertySource
+		extends EnumerablePropertySource<DeferredDocument>
+		implements OriginLookup<String>, DeferredPropertySource, StringInternerAware {
+
+	private final OriginTrackedMapPropertySource headerPropertySource;
+
+	private volatile StringInterner interner;
+
+	DeferredOriginTrackedMapPropertySource(String name, DeferredDocument document) {
+		super(name, document);
+		this.headerPropertySource = new OriginTrackedMapPropertySource(name,
+				CompactOriginTrackedMap.unmodifiable(document.getHeader()), true);
+	}
+
+	@Override
+	public Object getProperty(String name) {
+		Object value = this.source.getProperties().get(name);
+		if (value instanceof OriginTrackedValue) {
+			return ((OriginTrackedValue) value).getValue();
+		}
+		return value;
+	}
+
+	@Override
+	public boolean containsProperty(String name) {
+		return this.source.getProperties().containsKey(name);
+	}
+
+	@Override
+	public String[] getPropertyNames() {
+		return StringUtils.toStringArray(this.source.getProperties().keySet());
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Origin getOrigin(String name) {
+		Map<String, Object> properties = this.source.getProperties();
+		Object value = properties.get(name);
+		if (value instanceof OriginTrackedValue) {
+			return ((OriginTrackedValue) value).getOrigin();
+		}
+		if (properties instanceof OriginLookup) {
+			return ((OriginLookup<String>) properties).getOrigin(name);
+		}
+		return null;
+	}
+
+	@Override
+	public boolean isImmutable() {
+		return true;
+	}
+
+	@Override
+	public void setStringInterner(StringInterner interner) {
+		this.headerPropertySource.setStringInterner(interner);
+		this.source.setInterner(interner);
+		this.interner = interner;
+	}
+
+	@Override
+	public StringInterner getStringInterner() {
+		return this.interner;
+	}
+
+	@Override
+	public PropertySource<?> getHeaderPropertySource() {
+		return this.headerPropertySource;
+	}
+
+	@Override
+	public boolean isLoaded() {
+		return this.source.isLoaded();
+	}
+
+}
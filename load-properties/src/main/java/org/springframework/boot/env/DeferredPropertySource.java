@@ -0,0 +1,44 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.env;
+
+import org.springframework.core.env.PropertySource;
+
+/**
+ * Implemented by a {@link PropertySource} that only loads its full contents when they
+ * are first accessed. The {@code spring.*} properties that decide whether the source is
+ * used at all (such as {@code spring.profiles}) are available from
+ * {@link #getHeaderPropertySource()} without loading it.
+ *
+ * @author roc
+ */
+public interface DeferredPropertySource {
+
+	/**
+	 * Return a property source containing at least every {@code spring.*} property of
+	 * this source, without loading the full contents.
+	 * @return the header property source
+	 */
+	PropertySource<?> getHeaderPropertySource();
+
+	/**
+	 * Return whether the full contents have been loaded.
+	 * @return if the source is loaded
+	 */
+	boolean isLoaded();
+
+}
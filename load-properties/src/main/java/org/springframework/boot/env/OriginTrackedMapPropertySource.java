@@ -21,11 +21,13 @@ import java.util.Map;
 import org.springframework.boot.origin.Origin;
 import org.springframework.boot.origin.OriginLookup;
 import org.springframework.boot.origin.OriginTrackedValue;
+import org.springframework.boot.util.StringInterner;
+import org.springframework.boot.util.StringInternerAware;
 import org.springframework.core.env.MapPropertySource;
 
 /**
  * {@link OriginLookup} backed by a {@link Map} containing {@link OriginTrackedValue
- * OriginTrackedValues}.
+ * OriginTrackedValues}, or by a {@link Map} that is itself an {@link OriginLookup}.
  *
  * @author Madhura Bhave
  * @author Phillip Webb
@@ -33,11 +35,32 @@ import org.springframework.core.env.MapPropertySource;
  * @see OriginTrackedValue
  */
 public final class OriginTrackedMapPropertySource extends MapPropertySource
-		implements OriginLookup<String> {
+		implements OriginLookup<String>, StringInternerAware {
 
-	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private final boolean immutable;
+
+	private volatile StringInterner interner;
+
+	/**
+	 * Create a new {@link OriginTrackedMapPropertySource} instance.
+	 * @param name the property source name
+	 * @param source the underlying map source
+	 */
+	@SuppressWarnings("rawtypes")
 	public OriginTrackedMapPropertySource(String name, Map source) {
+		this(name, source, false);
+	}
+
+	/**
+	 * Create a new {@link OriginTrackedMapPropertySource} instance.
+	 * @param name the property source name
+	 * @param source the underlying map source
+	 * @param immutable if the underlying source is immutable and guaranteed not to change
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public OriginTrackedMapPropertySource(String name, Map source, boolean immutable) {
 		super(name, source);
+		this.immutable = immutable;
 	}
 
 	@Override
@@ -50,12 +73,34 @@ public final class OriginTrackedMapPropertySource extends MapPropertySource
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public Origin getOrigin(String name) {
 		Object value = super.getProperty(name);
 		if (value instanceof OriginTrackedValue) {
 			return ((OriginTrackedValue) value).getOrigin();
 		}
+		if (this.source instanceof OriginLookup) {
+			return ((OriginLookup<String>) this.source).getOrigin(name);
+		}
 		return null;
 	}
 
+	@Override
+	public boolean isImmutable() {
+		return this.immutable;
+	}
+
+	@Override
+	public void setStringInterner(StringInterner interner) {
+		if (this.source instanceof CompactOriginTrackedMap) {
+			((CompactOriginTrackedMap) this.source).intern(interner);
+		}
+		this.interner = interner;
+	}
+
+	@Override
+	public StringInterner getStringInterner() {
+		return this.interner;
+	}
+
 }
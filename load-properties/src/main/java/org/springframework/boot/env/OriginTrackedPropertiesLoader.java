@@ -18,23 +18,18 @@ package org.springframework.boot.env;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.LineNumberReader;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.LinkedHashMap;
 import java.util.Map;
 
-import org.springframework.boot.origin.Origin;
-import org.springframework.boot.origin.OriginTrackedValue;
-import org.springframework.boot.origin.TextResourceOrigin;
-import org.springframework.boot.origin.TextResourceOrigin.Location;
+import org.springframework.boot.origin.OriginLookup;
 import org.springframework.core.io.Resource;
 import org.springframework.util.Assert;
 
 /**
- * Class to load {@code .properties} files into a map of {@code String} ->
- * {@link OriginTrackedValue}. Also supports expansion of {@code name[]=a,b,c} list style
- * values.
+ * Class to load {@code .properties} files into a map of {@code String} -> raw value, with
+ * the origin of each value available through {@link OriginLookup}. Also supports expansion
+ * of {@code name[]=a,b,c} list style values.
  *
  * @author Madhura Bhave
  * @author Phillip Webb
@@ -44,35 +39,48 @@ class OriginTrackedPropertiesLoader {
 
 	private final Resource resource;
 
+	private final boolean trackOrigins;
+
 	/**
 	 * Create a new {@link OriginTrackedPropertiesLoader} instance.
 	 * @param resource the resource of the {@code .properties} data
 	 */
 	OriginTrackedPropertiesLoader(Resource resource) {
+		this(resource, true);
+	}
+
+	/**
+	 * Create a new {@link OriginTrackedPropertiesLoader} instance.
+	 * @param resource the resource of the {@code .properties} data
+	 * @param trackOrigins if the origin of each value should be recorded
+	 */
+	OriginTrackedPropertiesLoader(Resource resource, boolean trackOrigins) {
 		Assert.notNull(resource, "Resource must not be null");
 		this.resource = resource;
+		this.trackOrigins = trackOrigins;
 	}
 
 	/**
-	 * Load {@code .properties} data and return a map of {@code String} ->
-	 * {@link OriginTrackedValue}.
+	 * Load {@code .properties} data and return a map of {@code String} -> value. The
+	 * returned map is an {@link OriginLookup} for the loaded keys.
 	 * @return the loaded properties
 	 * @throws IOException on read error
 	 */
-	public Map<String, OriginTrackedValue> load() throws IOException {
+	public Map<String, Object> load() throws IOException {
 		return load(true);
 	}
 
 	/**
-	 * Load {@code .properties} data and return a map of {@code String} ->
-	 * {@link OriginTrackedValue}.
+	 * Load {@code .properties} data and return a map of {@code String} -> value. The
+	 * returned map is an {@link OriginLookup} for the loaded keys.
 	 * @param expandLists if list {@code name[]=a,b,c} shortcuts should be expanded
 	 * @return the loaded properties
 	 * @throws IOException on read error
 	 */
-	public Map<String, OriginTrackedValue> load(boolean expandLists) throws IOException {
+	public Map<String, Object> load(boolean expandLists) throws IOException {
 		try (CharacterReader reader = new CharacterReader(this.resource)) {
-			Map<String, OriginTrackedValue> result = new LinkedHashMap<>();
+			CompactOriginTrackedMap result = new CompactOriginTrackedMap(this.resource,
+					this.trackOrigins);
 			StringBuilder buffer = new StringBuilder();
 			while (reader.read()) {
 				String key = loadKey(buffer, reader).trim();
@@ -80,8 +88,8 @@ class OriginTrackedPropertiesLoader {
 					key = key.substring(0, key.length() - 2);
 					int index = 0;
 					do {
-						OriginTrackedValue value = loadValue(buffer, reader, true);
-						put(result, key + "[" + (index++) + "]", value);
+						loadValue(result, key + "[" + (index++) + "]", buffer, reader,
+								true);
 						if (!reader.isEndOfLine()) {
 							reader.read();
 						}
@@ -89,24 +97,39 @@ class OriginTrackedPropertiesLoader {
 					while (!reader.isEndOfLine());
 				}
 				else {
-					OriginTrackedValue value = loadValue(buffer, reader, false);
-					put(result, key, value);
+					loadValue(result, key, buffer, reader, false);
 				}
 			}
 			return result;
 		}
 	}
 
-	private void put(Map<String, OriginTrackedValue> result, String key,
-			OriginTrackedValue value) {
-		if (!key.isEmpty()) {
-			result.put(key, value);
-		}
-	}
-
 	private String loadKey(StringBuilder buffer, CharacterReader reader)
 			throws IOException {
+		String key = reader.readPlainCharacters(true, false);
+		if (key != null) {
+			if (reader.isWhiteSpace()) {
+				// Trailing whitespace is trimmed from the key anyway
+				while (reader.isWhiteSpace() && !reader.isEndOfLine()) {
+					reader.read();
+				}
+				if (reader.isPropertyDelimiter()) {
+					reader.read();
+				}
+				return key;
+			}
+			if (reader.isPropertyDelimiter()) {
+				reader.read();
+				return key;
+			}
+			if (reader.isEndOfLine()) {
+				return key;
+			}
+		}
 		buffer.setLength(0);
+		if (key != null) {
+			buffer.append(key);
+		}
 		boolean previousWhitespace = false;
 		while (!reader.isEndOfLine()) {
 			if (reader.isPropertyDelimiter()) {
@@ -118,35 +141,70 @@ class OriginTrackedPropertiesLoader {
 			}
 			previousWhitespace = reader.isWhiteSpace();
 			buffer.append(reader.getCharacter());
+			if (!previousWhitespace) {
+				reader.appendPlainCharacters(buffer, true, false);
+			}
 			reader.read();
 		}
 		return buffer.toString();
 	}
 
-	private OriginTrackedValue loadValue(StringBuilder buffer, CharacterReader reader,
-			boolean splitLists) throws IOException {
-		buffer.setLength(0);
+	private void loadValue(CompactOriginTrackedMap result, String key,
+			StringBuilder buffer, CharacterReader reader, boolean splitLists)
+			throws IOException {
 		while (reader.isWhiteSpace() && !reader.isEndOfLine()) {
 			reader.read();
 		}
-		Location location = reader.getLocation();
+		int line = reader.getLineNumber();
+		int column = reader.getColumnNumber();
+		String value = reader.readPlainCharacters(false, splitLists);
+		if (value != null && (reader.isEndOfLine()
+				|| (splitLists && reader.isListDelimiter()))) {
+			if (!key.isEmpty()) {
+				result.add(key, value, line, column);
+			}
+			return;
+		}
+		buffer.setLength(0);
+		if (value != null) {
+			buffer.append(value);
+		}
 		while (!reader.isEndOfLine() && !(splitLists && reader.isListDelimiter())) {
 			buffer.append(reader.getCharacter());
+			reader.appendPlainCharacters(buffer, false, splitLists);
 			reader.read();
 		}
-		Origin origin = new TextResourceOrigin(this.resource, location);
-		return OriginTrackedValue.of(buffer.toString(), origin);
+		if (!key.isEmpty()) {
+			result.add(key, buffer.toString(), line, column);
+		}
 	}
 
 	/**
 	 * Reads characters from the source resource, taking care of skipping comments,
-	 * handling multi-line values and tracking {@code '\'} escapes.
+	 * handling multi-line values and tracking {@code '\'} escapes. The resource is read
+	 * in bulk a chunk at a time and each byte is an ISO-8859-1 character, so keys and
+	 * values made of plain characters are scanned in the chunk and created from it in one
+	 * call instead of going through a synchronized {@link java.io.Reader} and a
+	 * {@link StringBuilder}. Line terminators are normalized and counted the same way as
+	 * {@link java.io.LineNumberReader}.
 	 */
 	private static class CharacterReader implements Closeable {
 
 		private static final String[] ESCAPES = { "trnf", "\t\r\n\f" };
 
-		private final LineNumberReader reader;
+		private static final int BUFFER_SIZE = 8192;
+
+		private final InputStream inputStream;
+
+		private final byte[] buffer = new byte[BUFFER_SIZE];
+
+		private int position;
+
+		private int limit;
+
+		private boolean skipLineFeed;
+
+		private int lineNumber;
 
 		private int columnNumber = -1;
 
@@ -155,13 +213,122 @@ class OriginTrackedPropertiesLoader {
 		private int character;
 
 		CharacterReader(Resource resource) throws IOException {
-			this.reader = new LineNumberReader(new InputStreamReader(
-					resource.getInputStream(), StandardCharsets.ISO_8859_1));
+			this.inputStream = resource.getInputStream();
 		}
 
 		@Override
 		public void close() throws IOException {
-			this.reader.close();
+			this.inputStream.close();
+		}
+
+		private int nextCharacter() throws IOException {
+			int character = nextByte();
+			if (this.skipLineFeed) {
+				this.skipLineFeed = false;
+				if (character == '\n') {
+					character = nextByte();
+				}
+			}
+			if (character == '\r') {
+				this.skipLineFeed = true;
+				this.lineNumber++;
+				return '\n';
+			}
+			if (character == '\n') {
+				this.lineNumber++;
+			}
+			return character;
+		}
+
+		private int nextByte() throws IOException {
+			if (this.position == this.limit && !fill()) {
+				return -1;
+			}
+			return this.buffer[this.position++] & 0xFF;
+		}
+
+		private boolean fill() throws IOException {
+			int read = this.inputStream.read(this.buffer);
+			while (read == 0) {
+				read = this.inputStream.read(this.buffer);
+			}
+			if (read == -1) {
+				return false;
+			}
+			this.position = 0;
+			this.limit = read;
+			return true;
+		}
+
+		/**
+		 * Append the run of buffered characters following the current one that need no
+		 * special handling, leaving the reader positioned on the last appended character.
+		 * Stops at escapes, line terminators, and delimiters or whitespace as appropriate.
+		 * @param buffer the destination buffer
+		 * @param key if a key is being read
+		 * @param splitLists if list delimiters end the run
+		 */
+		public void appendPlainCharacters(StringBuilder buffer, boolean key,
+				boolean splitLists) {
+			if (this.skipLineFeed) {
+				return;
+			}
+			int start = this.position;
+			int end = start;
+			while (end < this.limit && isPlain(this.buffer[end], key, splitLists)) {
+				buffer.append((char) (this.buffer[end] & 0xFF));
+				end++;
+			}
+			this.columnNumber += end - start;
+			this.position = end;
+		}
+
+		/**
+		 * Return the run of buffered characters starting with the current one that need
+		 * no special handling, moving the reader to the character that follows it. Keys
+		 * and values that fit in the buffer are created from it directly instead of being
+		 * appended to a {@link StringBuilder} first.
+		 * @param key if a key is being read
+		 * @param splitLists if list delimiters end the run
+		 * @return the characters or {@code null} if the current character is not plain
+		 * @throws IOException on read error
+		 */
+		public String readPlainCharacters(boolean key, boolean splitLists)
+				throws IOException {
+			if (this.escaped || this.skipLineFeed || this.character == -1
+					|| !isPlain(this.buffer[this.position - 1], key, splitLists)) {
+				return null;
+			}
+			int start = this.position - 1;
+			int end = this.position;
+			while (end < this.limit && isPlain(this.buffer[end], key, splitLists)) {
+				end++;
+			}
+			String characters = new String(this.buffer, start, end - start,
+					StandardCharsets.ISO_8859_1);
+			this.columnNumber += end - this.position;
+			this.position = end;
+			read();
+			return characters;
+		}
+
+		private boolean isPlain(byte character, boolean key, boolean splitLists) {
+			switch (character) {
+				case '\\':
+				case '\r':
+				case '\n':
+					return false;
+				case '=':
+				case ':':
+				case ' ':
+				case '\t':
+				case '\f':
+					return !key;
+				case ',':
+					return !splitLists;
+				default:
+					return true;
+			}
 		}
 
 		public boolean read() throws IOException {
@@ -170,7 +337,7 @@ class OriginTrackedPropertiesLoader {
 
 		public boolean read(boolean wrappedLine) throws IOException {
 			this.escaped = false;
-			this.character = this.reader.read();
+			this.character = nextCharacter();
 			this.columnNumber++;
 			if (this.columnNumber == 0) {
 				skipLeadingWhitespace();
@@ -190,7 +357,7 @@ class OriginTrackedPropertiesLoader {
 
 		private void skipLeadingWhitespace() throws IOException {
 			while (isWhiteSpace()) {
-				this.character = this.reader.read();
+				this.character = nextCharacter();
 				this.columnNumber++;
 			}
 		}
@@ -198,7 +365,7 @@ class OriginTrackedPropertiesLoader {
 		private void skipComment() throws IOException {
 			if (this.character == '#' || this.character == '!') {
 				while (this.character != '\n' && this.character != -1) {
-					this.character = this.reader.read();
+					this.character = nextCharacter();
 				}
 				this.columnNumber = -1;
 				read();
@@ -206,7 +373,7 @@ class OriginTrackedPropertiesLoader {
 		}
 
 		private void readEscaped() throws IOException {
-			this.character = this.reader.read();
+			this.character = nextCharacter();
 			int escapeIndex = ESCAPES[0].indexOf(this.character);
 			if (escapeIndex != -1) {
 				this.character = ESCAPES[1].charAt(escapeIndex);
@@ -223,7 +390,7 @@ class OriginTrackedPropertiesLoader {
 		private void readUnicode() throws IOException {
 			this.character = 0;
 			for (int i = 0; i < 4; i++) {
-				int digit = this.reader.read();
+				int digit = nextCharacter();
 				if (digit >= '0' && digit <= '9') {
 					this.character = (this.character << 4) + digit - '0';
 				}
@@ -264,8 +431,12 @@ class OriginTrackedPropertiesLoader {
 			return (char) this.character;
 		}
 
-		public Location getLocation() {
-			return new Location(this.reader.getLineNumber(), this.columnNumber);
+		public int getLineNumber() {
+			return this.lineNumber;
+		}
+
+		public int getColumnNumber() {
+			return this.columnNumber;
 		}
 
 	}
@@ -0,0 +1,507 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.env;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.yaml.snakeyaml.constructor.Constructor;
+import org.yaml.snakeyaml.error.Mark;
+import org.yaml.snakeyaml.events.CollectionStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.reader.UnicodeReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import org.springframework.boot.origin.OriginTrackedValue;
+import org.springframework.boot.util.StringInterner;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StringUtils;
+
+/**
+ * Loads YAML documents into the same flattened maps as {@link OriginTrackedYamlLoader},
+ * working directly on SnakeYAML parse events. Each document is first recorded as a
+ * compact list of keys and scalar values, with keys validated and scalars constructed
+ * exactly as the node based loader does. The flattened map is only built
+ * when a document is first accessed, so documents that are skipped (for example
+ * profile-specific documents of inactive profiles) never pay for key joining, origins or
+ * map entries. The {@code spring.*} entries of each document are flattened eagerly so
+ * that profile headers are always available.
+ * <p>
+ * Aliases, merge keys, complex or {@code null} keys, explicitly tagged collections and
+ * duplicate keys are handed to {@link OriginTrackedYamlLoader}, which then loads the whole
+ * resource so that the result (or the error) is unchanged.
+ *
+ * @author roc
+ * @see OriginTrackedYamlLoader
+ */
+class OriginTrackedYamlEventLoader {
+
+	private static final String DOCUMENT_KEY = "document";
+
+	private static final String HEADER_PREFIX = "spring";
+
+	private final Resource resource;
+
+	private final boolean trackOrigins;
+
+	private final Resolver resolver = new OriginTrackedYamlLoader.LimitedResolver();
+
+	private final ScalarConstructor constructor = new ScalarConstructor();
+
+	OriginTrackedYamlEventLoader(Resource resource) {
+		this(resource, true);
+	}
+
+	OriginTrackedYamlEventLoader(Resource resource, boolean trackOrigins) {
+		this.resource = resource;
+		this.trackOrigins = trackOrigins;
+	}
+
+	/**
+	 * Load and flatten all documents of the resource.
+	 * @return the flattened documents
+	 * @throws IOException on read error
+	 */
+	public List<Map<String, Object>> load() throws IOException {
+		List<DeferredDocument> documents = loadDeferred();
+		List<Map<String, Object>> result = new ArrayList<>(documents.size());
+		for (DeferredDocument document : documents) {
+			result.add(document.getProperties());
+		}
+		return result;
+	}
+
+	/**
+	 * Load all documents of the resource, deferring flattening until each document is
+	 * first accessed.
+	 * @return the documents
+	 * @throws IOException on read error
+	 */
+	public List<DeferredDocument> loadDeferred() throws IOException {
+		try (InputStream inputStream = this.resource.getInputStream()) {
+			Parser parser = new ParserImpl(
+					new StreamReader(new UnicodeReader(inputStream)));
+			return recordDocuments(parser);
+		}
+		catch (UnsupportedYamlException ex) {
+			List<DeferredDocument> documents = new ArrayList<>();
+			for (Map<String, Object> document : new OriginTrackedYamlLoader(this.resource)
+					.load()) {
+				documents.add(new DeferredDocument(
+						this.trackOrigins ? document : withoutOrigins(document)));
+			}
+			return documents;
+		}
+	}
+
+	private Map<String, Object> withoutOrigins(Map<String, Object> document) {
+		CompactOriginTrackedMap result = new CompactOriginTrackedMap(this.resource, false);
+		document.forEach((key, value) -> result.add(key,
+				(value instanceof OriginTrackedValue)
+						? ((OriginTrackedValue) value).getValue() : value));
+		return result;
+	}
+
+	private List<DeferredDocument> recordDocuments(Parser parser) {
+		List<DeferredDocument> documents = new ArrayList<>();
+		parser.getEvent();
+		while (!parser.checkEvent(Event.ID.StreamEnd)) {
+			parser.getEvent();
+			DocumentEvents events = new DocumentEvents(this.resource,
+					this.trackOrigins);
+			if (parser.checkEvent(Event.ID.MappingStart)) {
+				recordMapping(parser, events, parser.getEvent(), true);
+			}
+			else {
+				recordValue(parser, events, true);
+			}
+			parser.getEvent();
+			documents.add(new DeferredDocument(events));
+		}
+		return documents;
+	}
+
+	private void recordValue(Parser parser, DocumentEvents events, boolean convertKeys) {
+		Event event = parser.getEvent();
+		if (event instanceof ScalarEvent) {
+			ScalarEvent scalar = (ScalarEvent) event;
+			events.add(DocumentEvents.SCALAR,
+					this.constructor.construct(createScalarNode(scalar)),
+					scalar.getStartMark());
+		}
+		else if (event.is(Event.ID.MappingStart)) {
+			recordMapping(parser, events, event, convertKeys);
+		}
+		else if (event.is(Event.ID.SequenceStart)) {
+			recordSequence(parser, events, event);
+		}
+		else {
+			throw new UnsupportedYamlException();
+		}
+	}
+
+	private void recordMapping(Parser parser, DocumentEvents events, Event start,
+			boolean convertKeys) {
+		assertDefaultTag((CollectionStartEvent) start, Tag.MAP);
+		events.add(DocumentEvents.MAPPING_START, null);
+		Set<Object> keys = new HashSet<>();
+		while (!parser.checkEvent(Event.ID.MappingEnd)) {
+			Event event = parser.getEvent();
+			if (!(event instanceof ScalarEvent)) {
+				throw new UnsupportedYamlException();
+			}
+			ScalarNode keyNode = createScalarNode((ScalarEvent) event);
+			if (keyNode.getTag().equals(Tag.MERGE)) {
+				throw new UnsupportedYamlException();
+			}
+			Object key = this.constructor.construct(keyNode);
+			if (key == null || !keys.add(key)
+					|| (!convertKeys && !(key instanceof CharSequence))) {
+				throw new UnsupportedYamlException();
+			}
+			events.add(DocumentEvents.KEY, (key instanceof CharSequence) ? key.toString()
+					: "[" + key.toString() + "]");
+			recordValue(parser, events, convertKeys);
+		}
+		parser.getEvent();
+		events.add(DocumentEvents.MAPPING_END, null);
+	}
+
+	private void recordSequence(Parser parser, DocumentEvents events, Event start) {
+		assertDefaultTag((CollectionStartEvent) start, Tag.SEQ);
+		events.add(DocumentEvents.SEQUENCE_START, null);
+		while (!parser.checkEvent(Event.ID.SequenceEnd)) {
+			// YamlProcessor does not convert keys of maps nested in collections
+			recordValue(parser, events, false);
+		}
+		parser.getEvent();
+		events.add(DocumentEvents.SEQUENCE_END, null);
+	}
+
+	private void assertDefaultTag(CollectionStartEvent event, Tag defaultTag) {
+		String tag = event.getTag();
+		if (tag != null && !tag.equals("!") && !tag.equals(defaultTag.getValue())) {
+			throw new UnsupportedYamlException();
+		}
+	}
+
+	private ScalarNode createScalarNode(ScalarEvent event) {
+		String tag = event.getTag();
+		if (tag == null || tag.equals("!")) {
+			Tag resolved = this.resolver.resolve(NodeId.scalar, event.getValue(),
+					event.getImplicit().canOmitTagInPlainScalar());
+			return new ScalarNode(resolved, true, event.getValue(), event.getStartMark(),
+					event.getEndMark(), event.getScalarStyle());
+		}
+		return new ScalarNode(new Tag(tag), false, event.getValue(), event.getStartMark(),
+				event.getEndMark(), event.getScalarStyle());
+	}
+
+	/**
+	 * A YAML document that is flattened on first access.
+	 */
+	static final class DeferredDocument {
+
+		private final Map<String, Object> header;
+
+		private volatile Map<String, Object> properties;
+
+		private DocumentEvents events;
+
+		private StringInterner interner;
+
+		DeferredDocument(Map<String, Object> properties) {
+			this.header = properties;
+			this.properties = properties;
+		}
+
+		DeferredDocument(DocumentEvents events) {
+			this.events = events;
+			this.header = events.flattenHeader();
+		}
+
+		/**
+		 * Return the flattened {@code spring.*} entries of the document, or all entries if
+		 * the document has already been flattened.
+		 * @return the header entries
+		 */
+		Map<String, Object> getHeader() {
+			return this.header;
+		}
+
+		/**
+		 * Return the flattened entries of the document, flattening it if needed.
+		 * @return the document entries
+		 */
+		Map<String, Object> getProperties() {
+			Map<String, Object> properties = this.properties;
+			if (properties == null) {
+				synchronized (this) {
+					properties = this.properties;
+					if (properties == null) {
+						properties = this.events.flatten();
+						intern(properties);
+						this.properties = properties;
+						this.events = null;
+					}
+				}
+			}
+			return properties;
+		}
+
+		boolean isLoaded() {
+			return this.properties != null;
+		}
+
+		/**
+		 * Deduplicate the entries of the document through the given interner, now if it
+		 * is already flattened or else when it is.
+		 * @param interner the interner to use
+		 */
+		synchronized void setInterner(StringInterner interner) {
+			this.interner = interner;
+			if (this.properties != null) {
+				intern(this.properties);
+			}
+		}
+
+		private void intern(Map<String, Object> properties) {
+			if (this.interner != null && properties instanceof CompactOriginTrackedMap) {
+				((CompactOriginTrackedMap) properties).intern(this.interner);
+			}
+		}
+
+	}
+
+	/**
+	 * The keys, scalars and collection boundaries of a single document in event order.
+	 * Scalar positions are held in parallel {@code int} arrays rather than per value
+	 * objects.
+	 */
+	private static final class DocumentEvents {
+
+		static final byte SCALAR = 0;
+
+		static final byte KEY = 1;
+
+		static final byte MAPPING_START = 2;
+
+		static final byte MAPPING_END = 3;
+
+		static final byte SEQUENCE_START = 4;
+
+		static final byte SEQUENCE_END = 5;
+
+		private final Resource resource;
+
+		private final boolean trackOrigins;
+
+		private byte[] types = new byte[64];
+
+		private Object[] values = new Object[64];
+
+		private int[] lines;
+
+		private int[] columns;
+
+		private int size;
+
+		private int position;
+
+		DocumentEvents(Resource resource, boolean trackOrigins) {
+			this.resource = resource;
+			this.trackOrigins = trackOrigins;
+			if (trackOrigins) {
+				this.lines = new int[64];
+				this.columns = new int[64];
+			}
+		}
+
+		void add(byte type, Object value) {
+			add(type, value, null);
+		}
+
+		void add(byte type, Object value, Mark mark) {
+			if (this.size == this.types.length) {
+				this.types = Arrays.copyOf(this.types, this.size * 2);
+				this.values = Arrays.copyOf(this.values, this.size * 2);
+				if (this.trackOrigins) {
+					this.lines = Arrays.copyOf(this.lines, this.size * 2);
+					this.columns = Arrays.copyOf(this.columns, this.size * 2);
+				}
+			}
+			this.types[this.size] = type;
+			this.values[this.size] = value;
+			if (this.trackOrigins && mark != null) {
+				this.lines[this.size] = mark.getLine();
+				this.columns[this.size] = mark.getColumn();
+			}
+			this.size++;
+		}
+
+		Map<String, Object> flatten() {
+			CompactOriginTrackedMap result = new CompactOriginTrackedMap(this.resource,
+					this.trackOrigins);
+			this.position = 0;
+			if (this.types[0] == MAPPING_START) {
+				flattenMapping(result, null);
+			}
+			else {
+				// Non-map documents are exposed under a single key, like YamlProcessor
+				flattenValue(result, DOCUMENT_KEY);
+			}
+			return result;
+		}
+
+		Map<String, Object> flattenHeader() {
+			if (this.types[0] != MAPPING_START) {
+				return Collections.emptyMap();
+			}
+			CompactOriginTrackedMap result = new CompactOriginTrackedMap(this.resource,
+					this.trackOrigins);
+			this.position = 1;
+			while (this.types[this.position] == KEY) {
+				String key = (String) this.values[this.position++];
+				if (isHeaderKey(key)) {
+					flattenValue(result, key);
+				}
+				else {
+					skipValue();
+				}
+			}
+			return result;
+		}
+
+		/**
+		 * Return whether a top-level key may contribute to a {@code spring.*} property
+		 * under any relaxed form of its name.
+		 */
+		private boolean isHeaderKey(String key) {
+			StringBuilder name = new StringBuilder(HEADER_PREFIX.length());
+			for (int i = 0; i < key.length() && name.length() < HEADER_PREFIX.length(); i++) {
+				char ch = key.charAt(i);
+				if (Character.isLetterOrDigit(ch)) {
+					name.append(ch);
+				}
+			}
+			return name.toString().toLowerCase(Locale.ENGLISH).equals(HEADER_PREFIX);
+		}
+
+		private void skipValue() {
+			int depth = 0;
+			do {
+				byte type = this.types[this.position++];
+				if (type == MAPPING_START || type == SEQUENCE_START) {
+					depth++;
+				}
+				else if (type == MAPPING_END || type == SEQUENCE_END) {
+					depth--;
+				}
+			}
+			while (depth > 0);
+		}
+
+		private void flattenValue(CompactOriginTrackedMap result, String key) {
+			byte type = this.types[this.position];
+			if (type == SCALAR) {
+				int index = this.position++;
+				Object value = this.values[index];
+				if (this.trackOrigins) {
+					result.add(key, (value != null) ? value : "", this.lines[index],
+							this.columns[index]);
+				}
+				else {
+					result.add(key, (value != null) ? value : "");
+				}
+			}
+			else if (type == MAPPING_START) {
+				flattenMapping(result, key);
+			}
+			else {
+				flattenSequence(result, key);
+			}
+		}
+
+		private void flattenMapping(CompactOriginTrackedMap result, String path) {
+			this.position++;
+			while (this.types[this.position] == KEY) {
+				String key = (String) this.values[this.position++];
+				flattenValue(result, getPath(path, key));
+			}
+			this.position++;
+		}
+
+		private void flattenSequence(CompactOriginTrackedMap result, String path) {
+			this.position++;
+			int index = 0;
+			while (this.types[this.position] != SEQUENCE_END) {
+				flattenValue(result, path + "[" + (index++) + "]");
+			}
+			this.position++;
+			if (index == 0) {
+				result.add(path, "");
+			}
+		}
+
+		private String getPath(String path, String key) {
+			if (!StringUtils.hasText(path)) {
+				return key;
+			}
+			return key.startsWith("[") ? path + key : path + "." + key;
+		}
+
+	}
+
+	/**
+	 * {@link Constructor} used to construct individual scalars without tracking the
+	 * constructed nodes.
+	 */
+	private static class ScalarConstructor extends Constructor {
+
+		Object construct(ScalarNode node) {
+			return getConstructor(node).construct(node);
+		}
+
+	}
+
+	/**
+	 * Thrown when the YAML uses a feature that is left to the node based loader.
+	 */
+	private static class UnsupportedYamlException extends RuntimeException {
+
+		UnsupportedYamlException() {
+			super(null, null, false, false);
+		}
+
+	}
+
+}
@@ -145,7 +145,7 @@ class OriginTrackedYamlLoader extends YamlProcessor {
 	/**
 	 * {@link Resolver} that limits {@link Tag#TIMESTAMP} tags.
 	 */
-	private static class LimitedResolver extends Resolver {
+	static class LimitedResolver extends Resolver {
 
 		@Override
 		public void addImplicitResolver(Tag tag, Pattern regexp, String first) {
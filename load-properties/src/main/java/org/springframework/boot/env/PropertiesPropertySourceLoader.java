@@ -44,21 +44,28 @@ public class PropertiesPropertySourceLoader implements PropertySourceLoader {
 	@Override
 	public List<PropertySource<?>> load(String name, Resource resource)
 			throws IOException {
-		Map<String, ?> properties = loadProperties(resource);
+		return load(name, resource, true);
+	}
+
+	@Override
+	public List<PropertySource<?>> load(String name, Resource resource,
+			boolean trackOrigins) throws IOException {
+		Map<String, ?> properties = loadProperties(resource, trackOrigins);
 		if (properties.isEmpty()) {
 			return Collections.emptyList();
 		}
-		return Collections
-				.singletonList(new OriginTrackedMapPropertySource(name, properties));
+		return Collections.singletonList(new OriginTrackedMapPropertySource(name,
+				CompactOriginTrackedMap.unmodifiable(properties), true));
 	}
 
 	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private Map<String, ?> loadProperties(Resource resource) throws IOException {
+	private Map<String, ?> loadProperties(Resource resource, boolean trackOrigins)
+			throws IOException {
 		String filename = resource.getFilename();
 		if (filename != null && filename.endsWith(XML_FILE_EXTENSION)) {
 			return (Map) PropertiesLoaderUtils.loadProperties(resource);
 		}
-		return new OriginTrackedPropertiesLoader(resource).load();
+		return new OriginTrackedPropertiesLoader(resource, trackOrigins).load();
 	}
 
 }
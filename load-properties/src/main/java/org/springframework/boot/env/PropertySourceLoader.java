@@ -50,4 +50,20 @@ public interface PropertySourceLoader {
 	 */
 	List<PropertySource<?>> load(String name, Resource resource) throws IOException;
 
+	/**
+	 * Load the resource into one or more property sources, optionally without recording
+	 * the {@link org.springframework.boot.origin.Origin Origin} of each property. By
+	 * default origins are always tracked.
+	 * @param name the root name of the property source
+	 * @param resource the resource to load
+	 * @param trackOrigins if property origins should be recorded
+	 * @return a list property sources
+	 * @throws IOException if the source cannot be loaded
+	 * @see #load(String, Resource)
+	 */
+	default List<PropertySource<?>> load(String name, Resource resource,
+			boolean trackOrigins) throws IOException {
+		return load(name, resource);
+	}
+
 }
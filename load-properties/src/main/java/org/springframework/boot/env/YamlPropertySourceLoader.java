@@ -20,8 +20,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
+import org.springframework.boot.env.OriginTrackedYamlEventLoader.DeferredDocument;
 import org.springframework.core.env.PropertySource;
 import org.springframework.core.io.Resource;
 import org.springframework.util.ClassUtils;
@@ -43,21 +43,38 @@ public class YamlPropertySourceLoader implements PropertySourceLoader {
 	@Override
 	public List<PropertySource<?>> load(String name, Resource resource)
 			throws IOException {
+		return load(name, resource, true);
+	}
+
+	@Override
+	public List<PropertySource<?>> load(String name, Resource resource,
+			boolean trackOrigins) throws IOException {
 		if (!ClassUtils.isPresent("org.yaml.snakeyaml.Yaml", null)) {
 			throw new IllegalStateException("Attempted to load " + name
 					+ " but snakeyaml was not found on the classpath");
 		}
-		List<Map<String, Object>> loaded = new OriginTrackedYamlLoader(resource).load();
+		List<DeferredDocument> loaded = new OriginTrackedYamlEventLoader(resource,
+				trackOrigins).loadDeferred();
 		if (loaded.isEmpty()) {
 			return Collections.emptyList();
 		}
 		List<PropertySource<?>> propertySources = new ArrayList<>(loaded.size());
 		for (int i = 0; i < loaded.size(); i++) {
 			String documentNumber = (loaded.size() != 1) ? " (document #" + i + ")" : "";
-			propertySources.add(new OriginTrackedMapPropertySource(name + documentNumber,
-					loaded.get(i)));
+			propertySources.add(getPropertySource(name + documentNumber, loaded.get(i),
+					loaded.size() > 1));
 		}
 		return propertySources;
 	}
 
+	private PropertySource<?> getPropertySource(String name, DeferredDocument document,
+			boolean deferred) {
+		// Only documents of multi-document files may be skipped by a profile filter
+		if (deferred && !document.isLoaded()) {
+			return new DeferredOriginTrackedMapPropertySource(name, document);
+		}
+		return new OriginTrackedMapPropertySource(name,
+				CompactOriginTrackedMap.unmodifiable(document.getProperties()), true);
+	}
+
 }
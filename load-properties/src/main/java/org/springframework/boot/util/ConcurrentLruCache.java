@@ -0,0 +1,229 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.springframework.util.Assert;
+
+/**
+ * Bounded, thread-safe cache that computes missing values with a generator function and
+ * evicts approximately least recently used entries once full. Entries are held in a
+ * {@link ConcurrentHashMap} so that hits never lock. Eviction uses the second chance
+ * ("clock") algorithm: entries are queued in insertion order and marked when they are
+ * used, a marked entry at the head of the queue is unmarked and queued again while an
+ * unmarked one is evicted.
+ * <p>
+ * Values are computed outside of any lock: concurrent misses for the same key may both
+ * call the generator, but only the first value is kept and returned. The generator may
+ * return {@code null}, which is cached as well. Exceptions thrown by the generator are
+ * propagated and nothing is cached.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @author roc
+ */
+public final class ConcurrentLruCache<K, V> {
+
+	private final int maxSize;
+
+	private final Function<K, V> generator;
+
+	private final ConcurrentMap<K, Node<K, V>> entries = new ConcurrentHashMap<>();
+
+	private final Queue<Node<K, V>> evictionQueue = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger size = new AtomicInteger();
+
+	private final Object evictionMonitor = new Object();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Create a new {@link ConcurrentLruCache} instance.
+	 * @param maxSize the maximum number of entries to hold
+	 * @param generator the function used to compute missing values
+	 */
+	public ConcurrentLruCache(int maxSize, Function<K, V> generator) {
+		Assert.isTrue(maxSize > 0, "MaxSize must be positive");
+		Assert.notNull(generator, "Generator must not be null");
+		this.maxSize = maxSize;
+		this.generator = generator;
+	}
+
+	/**
+	 * Return the cached value for the given key, computing it if necessary.
+	 * @param key the key (never {@code null})
+	 * @return the value
+	 */
+	public V get(K key) {
+		Node<K, V> node = this.entries.get(key);
+		if (node != null) {
+			this.hits.increment();
+			node.markUsed();
+			return node.value;
+		}
+		this.misses.increment();
+		Node<K, V> created = new Node<>(key, this.generator.apply(key));
+		node = this.entries.putIfAbsent(key, created);
+		if (node != null) {
+			node.markUsed();
+			return node.value;
+		}
+		this.evictionQueue.add(created);
+		if (this.size.incrementAndGet() > this.maxSize) {
+			evict();
+		}
+		return created.value;
+	}
+
+	private void evict() {
+		synchronized (this.evictionMonitor) {
+			while (this.size.get() > this.maxSize) {
+				Node<K, V> node = this.evictionQueue.poll();
+				if (node == null) {
+					return;
+				}
+				if (node.used) {
+					node.used = false;
+					this.evictionQueue.add(node);
+				}
+				else if (this.entries.remove(node.key, node)) {
+					this.size.decrementAndGet();
+					this.evictions.increment();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Return the maximum number of entries held by this cache.
+	 * @return the maximum size
+	 */
+	public int getMaxSize() {
+		return this.maxSize;
+	}
+
+	/**
+	 * Return the number of entries currently held.
+	 * @return the number of entries
+	 */
+	public int size() {
+		return this.size.get();
+	}
+
+	/**
+	 * Return the number of lookups that found a cached value.
+	 * @return the hit count
+	 */
+	public long getHitCount() {
+		return this.hits.sum();
+	}
+
+	/**
+	 * Return the number of lookups that had to compute a value.
+	 * @return the miss count
+	 */
+	public long getMissCount() {
+		return this.misses.sum();
+	}
+
+	/**
+	 * Return the number of entries that were evicted to make room for new ones.
+	 * @return the eviction count
+	 */
+	public long getEvictionCount() {
+		return this.evictions.sum();
+	}
+
+	/**
+	 * Return the ratio of lookups that found a cached value.
+	 * @return the hit rate, between {@code 0.0} and {@code 1.0}
+	 */
+	public double getHitRate() {
+		long hits = getHitCount();
+		long total = hits + getMissCount();
+		return (total != 0) ? (double) hits / total : 0.0;
+	}
+
+	/**
+	 * Return a short description of the cache usage.
+	 * @return the summary
+	 */
+	public String getSummary() {
+		return String.format("%d/%d entries (%d hits, %d misses, %d evictions)", size(),
+				this.maxSize, getHitCount(), getMissCount(), getEvictionCount());
+	}
+
+	/**
+	 * Remove all entries and reset the statistics.
+	 */
+	public void clear() {
+		synchronized (this.evictionMonitor) {
+			this.entries.clear();
+			this.evictionQueue.clear();
+			this.size.set(0);
+		}
+		this.hits.reset();
+		this.misses.reset();
+		this.evictions.reset();
+	}
+
+	@Override
+	public String toString() {
+		return getSummary();
+	}
+
+	/**
+	 * A cached entry.
+	 *
+	 * @param <K> the key type
+	 * @param <V> the value type
+	 */
+	private static final class Node<K, V> {
+
+		private final K key;
+
+		private final V value;
+
+		private volatile boolean used;
+
+		Node(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		void markUsed() {
+			// Only write when needed to keep hot entries from invalidating cache lines
+			if (!this.used) {
+				this.used = true;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.util;
+
+import org.springframework.util.Assert;
+
+/**
+ * Deduplicates equal strings so that the keys, values and name elements loaded from many
+ * configuration documents share a single instance. Unlike {@link String#intern()} the
+ * canonical instances are held by the interner itself, so an interner scoped to a single
+ * load is released with it. A process-wide instance is available from {@link #shared()}.
+ * <p>
+ * Canonical strings are kept in an open addressing table. Once {@code maxSize} distinct
+ * strings are held, new strings are no longer added but existing ones are still
+ * deduplicated. The number of bytes saved is estimated from the size of each discarded
+ * duplicate (a {@link String} and its character array on a 64-bit JVM with compressed
+ * references).
+ *
+ * @author roc
+ */
+public final class StringInterner {
+
+	private static final int MAX_VALUE_LENGTH = 256;
+
+	private static final int SHARED_MAX_SIZE = 1 << 16;
+
+	// Java 9+ stores Latin-1 strings with one byte per character
+	private static final boolean COMPACT_STRINGS = !System
+			.getProperty("java.specification.version", "").startsWith("1.");
+
+	private static final StringInterner SHARED = new StringInterner(SHARED_MAX_SIZE);
+
+	private final int maxSize;
+
+	private String[] table = new String[64];
+
+	private int size;
+
+	private long deduplicated;
+
+	private long savedBytes;
+
+	/**
+	 * Create a new unbounded {@link StringInterner}.
+	 */
+	public StringInterner() {
+		this(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Create a new {@link StringInterner}.
+	 * @param maxSize the maximum number of canonical strings to hold
+	 */
+	public StringInterner(int maxSize) {
+		Assert.isTrue(maxSize > 0, "MaxSize must be positive");
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Return the process-wide {@link StringInterner}.
+	 * @return the shared interner
+	 */
+	public static StringInterner shared() {
+		return SHARED;
+	}
+
+	/**
+	 * Return the canonical instance of the given string.
+	 * @param string the string to intern (may be {@code null})
+	 * @return the canonical instance, or {@code string} itself if it is the first of its
+	 * value or the interner is full
+	 */
+	public synchronized String intern(String string) {
+		if (string == null) {
+			return null;
+		}
+		int slot = findSlot(string);
+		String canonical = this.table[slot];
+		if (canonical == null) {
+			if (this.size < this.maxSize) {
+				this.table[slot] = string;
+				this.size++;
+				if (this.size * 2 > this.table.length) {
+					rehash();
+				}
+			}
+			return string;
+		}
+		if (canonical != string) {
+			this.deduplicated++;
+			this.savedBytes += estimateSize(string);
+		}
+		return canonical;
+	}
+
+	/**
+	 * Return the canonical instance of the given character sequence if it is a
+	 * {@link String}, or the sequence itself otherwise.
+	 * @param sequence the sequence to intern (may be {@code null})
+	 * @return the canonical sequence
+	 */
+	public CharSequence intern(CharSequence sequence) {
+		return (sequence instanceof String) ? intern((String) sequence) : sequence;
+	}
+
+	/**
+	 * Return the canonical instance of the given property value. Only short
+	 * {@link String} values are interned since long values are rarely repeated.
+	 * @param value the value to intern (may be {@code null})
+	 * @return the canonical value
+	 */
+	public Object internValue(Object value) {
+		if (value instanceof String && ((String) value).length() <= MAX_VALUE_LENGTH) {
+			return intern((String) value);
+		}
+		return value;
+	}
+
+	private int findSlot(String string) {
+		int hash = string.hashCode();
+		int mask = this.table.length - 1;
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		while (this.table[slot] != null && !this.table[slot].equals(string)) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private void rehash() {
+		String[] previous = this.table;
+		this.table = new String[previous.length * 2];
+		for (String string : previous) {
+			if (string != null) {
+				this.table[findSlot(string)] = string;
+			}
+		}
+	}
+
+	private static long estimateSize(String string) {
+		int bytesPerChar = (COMPACT_STRINGS && isLatin1(string)) ? 1 : 2;
+		return 24 + ((16 + string.length() * bytesPerChar + 7) & ~7);
+	}
+
+	private static boolean isLatin1(String string) {
+		for (int i = 0; i < string.length(); i++) {
+			if (string.charAt(i) > 0xFF) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Return the number of canonical strings held.
+	 * @return the number of strings
+	 */
+	public synchronized int size() {
+		return this.size;
+	}
+
+	/**
+	 * Return the number of duplicates that were replaced by a canonical instance.
+	 * @return the number of deduplicated strings
+	 */
+	public synchronized long getDeduplicatedCount() {
+		return this.deduplicated;
+	}
+
+	/**
+	 * Return the estimated number of bytes saved by replacing duplicates. Duplicates that
+	 * were only referenced temporarily are included, so this is an upper bound of the
+	 * retained memory saved.
+	 * @return the saved bytes
+	 */
+	public synchronized long getSavedBytes() {
+		return this.savedBytes;
+	}
+
+	/**
+	 * Return a short description of the interner usage.
+	 * @return the summary
+	 */
+	public synchronized String getSummary() {
+		return String.format("%d interned strings (%d duplicates, ~%d bytes saved)",
+				this.size, this.deduplicated, this.savedBytes);
+	}
+
+	/**
+	 * Remove all canonical strings and reset the statistics.
+	 */
+	public synchronized void clear() {
+		this.table = new String[64];
+		this.size = 0;
+		this.deduplicated = 0;
+		this.savedBytes = 0;
+	}
+
+	@Override
+	public String toString() {
+		return getSummary();
+	}
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.util;
+
+/**
+ * Interface implemented by property sources whose keys and values can be deduplicated
+ * through a {@link StringInterner}. The interner is also used for the elements of the
+ * configuration property names adapted from the source.
+ *
+ * @author roc
+ */
+public interface StringInternerAware {
+
+	/**
+	 * Deduplicate the keys and values of this source through the given interner,
+	 * including entries that are only materialized later.
+	 * @param interner the interner to use
+	 */
+	void setStringInterner(StringInterner interner);
+
+	/**
+	 * Return the interner set on this source.
+	 * @return the interner or {@code null}
+	 */
+	StringInterner getStringInterner();
+
+}
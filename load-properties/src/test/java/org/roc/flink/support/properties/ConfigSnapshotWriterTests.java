@@ -0,0 +1,138 @@
+package org.roc.flink.support.properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.PropertySourcesPlaceholdersResolver;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ByteArrayResource;
+
+/**
+ * Tests for {@link ConfigSnapshotWriter}.
+ *
+ * @author roc
+ */
+public class ConfigSnapshotWriterTests {
+
+    private static final List<Bindable<?>> SCALARS = Arrays.asList(Bindable.of(String.class),
+            Bindable.of(Integer.class), Bindable.of(Boolean.class), Bindable.listOf(String.class));
+
+    private static final List<String> NAMES = Arrays.asList("app.bar-baz", "app.name",
+            "app.port", "app.enabled", "app.url", "app.list", "app.csv", "app.nested[0].tags",
+            "app.missing");
+
+    private static final List<String> MAP_NAMES = Arrays.asList("app.map", "app.missing");
+
+    @Test
+    public void writeShouldKeepBoundValues() throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        MutablePropertySources propertySources = environment.getPropertySources();
+        propertySources.addLast(new MapPropertySource("high", properties(
+                "app.barBaz", "high", "app.name", "${app.host}", "app.host", "example.org",
+                "app.port", 8080, "app.list[0]", "a", "app.list[1]", "b", "app.csv", "x,y",
+                "app.nested[0].tags[0]", "t", "app.map.one", "1")));
+        propertySources.addLast(new MapPropertySource("low", properties(
+                "app.bar-baz", "low", "app.name", "low", "app.enabled", true,
+                "app.url", "http://${app.host}:${app.port}", "app.list[0]", "c",
+                "app.list[1]", "d", "app.list[2]", "e", "app.csv[0]", "z",
+                "app.nested[0].tags[1]", "u", "app.nested[1].tags[0]", "v", "app.map.one",
+                "-1", "app.map.two", "2")));
+        Map<String, Object> expected = bindAll(propertySources);
+        assertThat(expected).containsEntry("app.bar-baz|String", "high")
+                .containsEntry("app.list|List", Arrays.asList("a", "b"))
+                .containsEntry("app.csv|List", Arrays.asList("x", "y"))
+                .containsEntry("app.nested[0].tags|List", Arrays.asList("t"))
+                .containsEntry("app.map|Map", map("one", "1", "two", "2"));
+        assertThat(bindAll(loadSnapshot(environment))).isEqualTo(expected);
+    }
+
+    @Test
+    public void writeWhenRelaxedNamesInSameSourceShouldKeepCanonicalName() throws IOException {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addLast(new MapPropertySource("test",
+                properties("app.barBaz", "first", "app.bar-baz", "second", "app.NAME", "a",
+                        "app.Name", "b")));
+        MutablePropertySources snapshot = loadSnapshot(environment);
+        assertThat(bindAll(snapshot)).isEqualTo(bindAll(environment.getPropertySources()))
+                .containsEntry("app.bar-baz|String", "second")
+                .containsEntry("app.name|String", "a");
+        assertThat(snapshot.get("snapshot").getProperty("app.barBaz")).isNull();
+        assertThat(snapshot.get("snapshot").getProperty("app.Name")).isNull();
+    }
+
+    @Test
+    public void writeWhenValueIsNotScalarShouldThrowException() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addLast(new MapPropertySource("test",
+                properties("app.data", new byte[] {1, 2, 3})));
+        assertThatIllegalStateException().isThrownBy(() -> loadSnapshot(environment))
+                .withMessageContaining("app.data").withMessageContaining("test")
+                .withMessageContaining("[B");
+    }
+
+    private MutablePropertySources loadSnapshot(StandardEnvironment environment)
+            throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new ConfigSnapshotWriter(true).write(environment, outputStream);
+        List<PropertySource<?>> loaded = new ConfigSnapshotPropertySourceLoader()
+                .load("snapshot", new ByteArrayResource(outputStream.toByteArray()));
+        MutablePropertySources propertySources = new MutablePropertySources();
+        loaded.forEach(propertySources::addLast);
+        return propertySources;
+    }
+
+    private Map<String, Object> bindAll(MutablePropertySources propertySources) {
+        Binder binder = new Binder(ConfigurationPropertySources.from(propertySources),
+                new PropertySourcesPlaceholdersResolver(propertySources));
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (String name : NAMES) {
+            for (Bindable<?> target : SCALARS) {
+                bind(binder, name, target, result);
+            }
+        }
+        for (String name : MAP_NAMES) {
+            bind(binder, name, Bindable.mapOf(String.class, String.class), result);
+        }
+        return result;
+    }
+
+    private void bind(Binder binder, String name, Bindable<?> target,
+            Map<String, Object> result) {
+        String key = name + "|" + target.getType().resolve().getSimpleName();
+        try {
+            result.put(key, binder.bind(name, target).orElse(null));
+        } catch (RuntimeException ex) {
+            result.put(key, ex.getClass().getName());
+        }
+    }
+
+    private Map<String, String> map(String... pairs) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            map.put(pairs[i], pairs[i + 1]);
+        }
+        return map;
+    }
+
+    private Map<String, Object> properties(Object... pairs) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            properties.put((String) pairs[i], pairs[i + 1]);
+        }
+        return properties;
+    }
+
+}
@@ -0,0 +1,84 @@
+package org.roc.flink.support.properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.boot.origin.OriginTrackedValue;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * Tests for {@link Loader}.
+ *
+ * @author roc
+ */
+public class LoaderTests {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    @Test
+    public void loadShouldTrackOrigins() throws IOException {
+        List<PropertySource<?>> sources = load(null);
+        assertThat(sources).hasSize(2);
+        for (PropertySource<?> source : sources) {
+            assertThat(source.getProperty("app.name")).isEqualTo("test");
+            assertThat(OriginLookup.getOrigin(source, "app.name")).isNotNull();
+        }
+    }
+
+    @Test
+    public void loadWhenOriginTrackingDisabledShouldReturnPlainValuesWithoutOrigins()
+            throws IOException {
+        List<PropertySource<?>> sources = load("false");
+        assertThat(sources).hasSize(2);
+        for (PropertySource<?> source : sources) {
+            assertThat(source.getProperty("app.name")).isEqualTo("test");
+            assertThat(OriginLookup.getOrigin(source, "app.name")).isNull();
+            for (String name : ((EnumerablePropertySource<?>) source).getPropertyNames()) {
+                assertThat(source.getProperty(name)).isNotInstanceOf(OriginTrackedValue.class);
+                assertThat(OriginLookup.getOrigin(source, name)).isNull();
+            }
+        }
+    }
+
+    private List<PropertySource<?>> load(String originTracking) throws IOException {
+        File folder = this.temp.newFolder();
+        write(new File(folder, "application.properties"), "app.name=test\napp.port=8080\n");
+        write(new File(folder, "application.yml"), "app:\n  name: test\n  tags: [a, b]\n");
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test",
+                Collections.singletonMap(Loader.CONFIG_LOCATION_PROPERTY,
+                        folder.toURI().toString())));
+        if (originTracking != null) {
+            environment.getPropertySources().addFirst(new MapPropertySource("tracking",
+                    Collections.singletonMap(Loader.CONFIG_ORIGIN_TRACKING_PROPERTY,
+                            originTracking)));
+        }
+        new Loader(environment, null).load();
+        List<PropertySource<?>> sources = new ArrayList<>();
+        environment.getPropertySources().forEach((source) -> {
+            if (source.getName().contains(folder.getName())) {
+                sources.add(source);
+            }
+        });
+        return sources;
+    }
+
+    private void write(File file, String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.bind;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link IndexedElementsBinder}.
+ *
+ * @author roc
+ */
+public class IndexedElementsBinderTests {
+
+	private static final Bindable<List<String>> STRING_LIST = Bindable
+			.listOf(String.class);
+
+	private static final Bindable<List<JavaBean>> BEAN_LIST = Bindable
+			.listOf(JavaBean.class);
+
+	@Test
+	public void bindToCollectionShouldReturnPopulatedCollection() {
+		Binder binder = binder("foo[0]", "a", "foo[1]", "b");
+		assertThat(binder.bind("foo", STRING_LIST).get()).containsExactly("a", "b");
+	}
+
+	@Test
+	public void bindToCollectionWhenDotIndexedShouldReturnPopulatedCollection() {
+		Binder binder = binder("foo.0", "a", "foo.1", "b");
+		assertThat(binder.bind("foo", STRING_LIST).get()).containsExactly("a", "b");
+	}
+
+	@Test
+	public void bindToCollectionWhenDotIndexedInPropertySourceShouldReturnPopulatedCollection() {
+		Map<String, Object> map = properties("foo.0", "a", "foo.1", "b");
+		MutablePropertySources propertySources = new MutablePropertySources();
+		propertySources.addFirst(new MapPropertySource("test", map));
+		Binder binder = new Binder(ConfigurationPropertySources.from(propertySources));
+		assertThat(binder.bind("foo", STRING_LIST).get()).containsExactly("a", "b");
+	}
+
+	@Test
+	public void bindToCollectionWhenDotIndexedBeansShouldReturnPopulatedCollection() {
+		Binder binder = binder("foo.0.name", "x", "foo.1.name", "y");
+		List<JavaBean> result = binder.bind("foo", BEAN_LIST).get();
+		assertThat(result).extracting(JavaBean::getName).containsExactly("x", "y");
+	}
+
+	@Test
+	public void bindToCollectionWhenMixedIndexesShouldReturnPopulatedCollection() {
+		Binder binder = binder("foo[0]", "a", "foo.1", "b", "foo[2]", "c");
+		assertThat(binder.bind("foo", STRING_LIST).get()).containsExactly("a", "b",
+				"c");
+	}
+
+	@Test
+	public void bindToArrayWhenDotIndexedShouldReturnPopulatedArray() {
+		Binder binder = binder("foo.0", "a", "foo.1", "b");
+		assertThat(binder.bind("foo", Bindable.of(String[].class)).get())
+				.containsExactly("a", "b");
+	}
+
+	@Test
+	public void bindToCollectionWhenNonSequentialShouldThrowException() {
+		Binder binder = binder("foo[0]", "a", "foo[2]", "c");
+		assertThatExceptionOfType(BindException.class)
+				.isThrownBy(() -> binder.bind("foo", STRING_LIST))
+				.withCauseInstanceOf(UnboundConfigurationPropertiesException.class);
+	}
+
+	@Test
+	public void bindToCollectionWhenDotIndexedNonSequentialShouldBindLeadingElements() {
+		Binder binder = binder("foo.0", "a", "foo.2", "c");
+		assertThat(binder.bind("foo", STRING_LIST).get()).containsExactly("a");
+	}
+
+	private static Binder binder(String... pairs) {
+		List<ConfigurationPropertySource> sources = new ArrayList<>();
+		sources.add(new MapConfigurationPropertySource(properties(pairs)));
+		return new Binder(sources);
+	}
+
+	private static Map<String, Object> properties(String... pairs) {
+		Map<String, Object> properties = new LinkedHashMap<>();
+		for (int i = 0; i < pairs.length; i += 2) {
+			properties.put(pairs[i], pairs[i + 1]);
+		}
+		return properties;
+	}
+
+	public static class JavaBean {
+
+		private String name;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+	}
+
+}
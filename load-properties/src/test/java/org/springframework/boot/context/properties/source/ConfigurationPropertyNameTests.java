@@ -0,0 +1,206 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.source;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName.Form;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link ConfigurationPropertyName}.
+ *
+ * @author roc
+ */
+public class ConfigurationPropertyNameTests {
+
+	@Test
+	public void ofShouldParseElements() {
+		ConfigurationPropertyName name = ConfigurationPropertyName
+				.of("foo.bar-baz[0][key.x].qux");
+		assertThat(name.getNumberOfElements()).isEqualTo(5);
+		assertThat(elements(name, Form.ORIGINAL)).containsExactly("foo", "bar-baz", "0",
+				"key.x", "qux");
+		assertThat(elements(name, Form.UNIFORM)).containsExactly("foo", "barbaz", "0",
+				"key.x", "qux");
+		assertThat(name.isNumericIndex(2)).isTrue();
+		assertThat(name.isNumericIndex(3)).isFalse();
+		assertThat(name.toString()).isEqualTo("foo.bar-baz[0][key.x].qux");
+	}
+
+	@Test
+	public void ofWhenEmptyShouldReturnEmpty() {
+		assertThat(ConfigurationPropertyName.of(""))
+				.isSameAs(ConfigurationPropertyName.EMPTY);
+		assertThat(ConfigurationPropertyName.EMPTY.isEmpty()).isTrue();
+	}
+
+	@Test
+	public void ofWhenInvalidShouldThrowException() {
+		assertThatExceptionOfType(InvalidConfigurationPropertyNameException.class)
+				.isThrownBy(() -> ConfigurationPropertyName.of("foo.Bar"));
+		assertThatExceptionOfType(InvalidConfigurationPropertyNameException.class)
+				.isThrownBy(() -> ConfigurationPropertyName.of(".foo.bar"));
+		assertThatExceptionOfType(InvalidConfigurationPropertyNameException.class)
+				.isThrownBy(() -> ConfigurationPropertyName.of("foo[bar"));
+	}
+
+	@Test
+	public void adaptShouldKeepNonUniformElements() {
+		ConfigurationPropertyName name = ConfigurationPropertyName
+				.adapt("foo.Bar_Baz[1].QUX-x", '.');
+		assertThat(elements(name, Form.ORIGINAL)).containsExactly("foo", "Bar_Baz", "1",
+				"QUX-x");
+		assertThat(elements(name, Form.UNIFORM)).containsExactly("foo", "barbaz", "1",
+				"quxx");
+		assertThat(name).isEqualTo(ConfigurationPropertyName.of("foo.bar-baz[1].qux-x"));
+	}
+
+	@Test
+	public void adaptShouldStripInvalidCharacters() {
+		ConfigurationPropertyName name = ConfigurationPropertyName.adapt("f@o.b$r", '.');
+		assertThat(name.toString()).isEqualTo("fo.br");
+	}
+
+	@Test
+	public void equalsAndHashCodeShouldCompareUniformForms() {
+		assertEqual("foo.bar-baz", "foo.barbaz", "foo.barBaz", "foo.BAR_BAZ",
+				"foo.b-a-r-baz");
+		assertEqual("foo[0]", "foo[0]");
+		assertEqual("foo[a.b]", "foo[a.b]");
+		// Indexed and dotted elements are equal, but indexed elements are ordered first
+		assertEquivalent("foo[0]", "foo.0");
+		assertEquivalent("foo[bar]", "foo.bar");
+		assertEquivalent("foo[bar]", "foo.BAR");
+		assertNotEqual("foo[bar-baz]", "foo.barbaz");
+		assertNotEqual("foo[Bar]", "foo[bar]");
+		assertNotEqual("foo.bar", "foo.bar.baz");
+		assertNotEqual("foo.bar", "foo.baz");
+		assertNotEqual("foo.bar-", "foo.bar-x");
+	}
+
+	@Test
+	public void compareToShouldOrderLikeUniformStrings() {
+		List<String> names = Arrays.asList("foo", "foo.bar", "foo.bar-baz", "foo.Bar_Bax",
+				"foo.barbaz.a", "foo[0]", "foo[1]", "foo[2]", "foo[10]", "foo[+3]",
+				"foo[-1]", "foo[007]", "foo[99999999999999999999]", "foo[a]", "foo[ab]",
+				"foo[B]", "foo[]", "foo[-]", "foo.0", "foo.10", "foo.x-y", "foo.x_z",
+				"a.b", "z");
+		List<ConfigurationPropertyName> sorted = new ArrayList<>();
+		for (String name : names) {
+			sorted.add(ConfigurationPropertyName.adapt(name, '.'));
+		}
+		Collections.sort(sorted);
+		for (int i = 0; i < sorted.size(); i++) {
+			for (int j = 0; j < sorted.size(); j++) {
+				ConfigurationPropertyName n1 = sorted.get(i);
+				ConfigurationPropertyName n2 = sorted.get(j);
+				assertThat(Integer.signum(n1.compareTo(n2)))
+						.as("%s <> %s", n1, n2)
+						.isEqualTo(Integer.signum(compareUniform(n1, n2)));
+			}
+		}
+		assertThat(sorted.subList(0, 3)).extracting(Object::toString)
+				.containsExactly("a.b", "foo", "foo[]");
+	}
+
+	@Test
+	public void getArrayIndexShouldReturnCanonicalNumbers() {
+		ConfigurationPropertyName name = ConfigurationPropertyName.adapt(
+				"a[0].1.[12].1-2.01.[01].x.[-1].2147483647.2147483646.[12345678901]", '.');
+		int[] indexes = new int[name.getNumberOfElements()];
+		for (int i = 0; i < indexes.length; i++) {
+			indexes[i] = name.getArrayIndex(i);
+		}
+		assertThat(indexes).containsExactly(-1, 0, 1, 12, 12, -1, -1, -1, -1, -1,
+				2147483646, -1);
+	}
+
+	private void assertEqual(String... names) {
+		ConfigurationPropertyName expected = ConfigurationPropertyName.adapt(names[0], '.');
+		for (String name : names) {
+			ConfigurationPropertyName actual = ConfigurationPropertyName.adapt(name, '.');
+			assertEquivalent(expected, actual);
+			assertThat(actual.compareTo(expected)).isZero();
+		}
+	}
+
+	private void assertEquivalent(String name1, String name2) {
+		assertEquivalent(ConfigurationPropertyName.adapt(name1, '.'),
+				ConfigurationPropertyName.adapt(name2, '.'));
+	}
+
+	private void assertEquivalent(ConfigurationPropertyName n1,
+			ConfigurationPropertyName n2) {
+		assertThat(n1).isEqualTo(n2);
+		assertThat(n2).isEqualTo(n1);
+		assertThat(n1.hashCode()).isEqualTo(n2.hashCode());
+	}
+
+	private void assertNotEqual(String name1, String name2) {
+		ConfigurationPropertyName n1 = ConfigurationPropertyName.adapt(name1, '.');
+		ConfigurationPropertyName n2 = ConfigurationPropertyName.adapt(name2, '.');
+		assertThat(n1).isNotEqualTo(n2);
+		assertThat(n2).isNotEqualTo(n1);
+	}
+
+	private List<String> elements(ConfigurationPropertyName name, Form form) {
+		List<String> elements = new ArrayList<>();
+		for (int i = 0; i < name.getNumberOfElements(); i++) {
+			elements.add(name.getElement(i, form));
+		}
+		return elements;
+	}
+
+	/**
+	 * Reference comparison on the uniform element strings.
+	 */
+	private int compareUniform(ConfigurationPropertyName n1, ConfigurationPropertyName n2) {
+		int size = Math.min(n1.getNumberOfElements(), n2.getNumberOfElements());
+		for (int i = 0; i < size; i++) {
+			boolean indexed1 = n1.isIndexed(i);
+			boolean indexed2 = n2.isIndexed(i);
+			if (indexed1 != indexed2) {
+				return indexed1 ? -1 : 1;
+			}
+			String e1 = n1.getElement(i, Form.UNIFORM);
+			String e2 = n2.getElement(i, Form.UNIFORM);
+			int result = indexed1 ? compareIndexed(e1, e2) : e1.compareTo(e2);
+			if (result != 0) {
+				return result;
+			}
+		}
+		return Integer.compare(n1.getNumberOfElements(), n2.getNumberOfElements());
+	}
+
+	private int compareIndexed(String e1, String e2) {
+		try {
+			return Long.compare(Long.parseLong(e1), Long.parseLong(e2));
+		}
+		catch (NumberFormatException ex) {
+			return e1.compareTo(e2);
+		}
+	}
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.env;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.springframework.boot.origin.Origin;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.boot.origin.OriginTrackedValue;
+import org.springframework.boot.origin.TextResourceOrigin;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Tests for {@link CompactOriginTrackedMap}.
+ *
+ * @author roc
+ */
+public class CompactOriginTrackedMapTests {
+
+	private final Resource resource = new ByteArrayResource(new byte[0], "test");
+
+	@Test
+	public void getShouldReturnRawValues() {
+		CompactOriginTrackedMap map = new CompactOriginTrackedMap(this.resource, true);
+		map.add("a", "1", 0, 2);
+		map.add("b", 2, 1, 3);
+		assertThat(map.get("a")).isEqualTo("1");
+		assertThat(map.get("b")).isEqualTo(2);
+		assertThat(map.get("c")).isNull();
+		assertThat(map.get(1)).isNull();
+		assertThat(map.containsKey("a")).isTrue();
+		assertThat(map.containsKey("c")).isFalse();
+	}
+
+	@Test
+	public void entrySetShouldIterateInInsertionOrder() {
+		CompactOriginTrackedMap map = new CompactOriginTrackedMap(this.resource, true);
+		List<String> keys = new ArrayList<>();
+		for (int i = 100; i > 0; i--) {
+			keys.add("key" + i);
+			map.add("key" + i, i, i, 0);
+		}
+		assertThat(map).hasSize(100);
+		assertThat(map.keySet()).containsExactlyElementsOf(keys);
+		assertThat(map.entrySet().iterator().next()).isEqualTo(entry("key100", 100));
+		for (int i = 1; i <= 100; i++) {
+			assertThat(map.get("key" + i)).isEqualTo(i);
+		}
+	}
+
+	@Test
+	public void addWhenKeyExistsShouldReplaceValueAndKeepPosition() {
+		CompactOriginTrackedMap map = new CompactOriginTrackedMap(this.resource, true);
+		map.add("a", "1", 0, 0);
+		map.add("b", "2", 1, 0);
+		map.add("a", "3", 2, 4);
+		assertThat(map).containsExactly(entry("a", "3"), entry("b", "2"));
+		assertThat(getLocation(map, "a")).isEqualTo("3:5");
+	}
+
+	@Test
+	public void getOriginShouldCreateOriginFromPosition() {
+		CompactOriginTrackedMap map = new CompactOriginTrackedMap(this.resource, true);
+		map.add("a", "1", 4, 7);
+		map.add("b", "2");
+		Origin origin = map.getOrigin("a");
+		assertThat(origin).isInstanceOf(TextResourceOrigin.class);
+		assertThat(((TextResourceOrigin) origin).getResource()).isSameAs(this.resource);
+		assertThat(getLocation(map, "a")).isEqualTo("5:8");
+		assertThat(map.getOrigin("a")).isNotSameAs(origin).isEqualTo(origin);
+		assertThat(map.getOrigin("b")).isNull();
+		assertThat(map.getOrigin("c")).isNull();
+	}
+
+	@Test
+	public void getOriginWhenOriginsNotTrackedShouldReturnNull() {
+		CompactOriginTrackedMap map = new CompactOriginTrackedMap(this.resource, false);
+		map.add("a", "1", 4, 7);
+		assertThat(map.get("a")).isEqualTo("1");
+		assertThat(map.getOrigin("a")).isNull();
+	}
+
+	@Test
+	public void mapShouldBeImmutable() {
+		CompactOriginTrackedMap map = new CompactOriginTrackedMap(this.resource, true);
+		map.add("a", "1", 0, 0);
+		assertThat(map.isImmutable()).isTrue();
+		assertThat(CompactOriginTrackedMap.unmodifiable(map)).isSameAs(map);
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+				.isThrownBy(() -> map.put("b", "2"));
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+				.isThrownBy(() -> map.entrySet().iterator().next().setValue("2"));
+	}
+
+	@Test
+	public void loadWhenOriginTrackingDisabledShouldReturnPlainValuesWithoutOrigins()
+			throws IOException {
+		Resource properties = resource("a=1\nb=2\n");
+		Resource yaml = resource("a: 1\nb:\n  c: x\n");
+		List<PropertySource<?>> sources = new ArrayList<>();
+		sources.addAll(new PropertiesPropertySourceLoader().load("properties",
+				properties, false));
+		sources.addAll(new YamlPropertySourceLoader().load("yaml", yaml, false));
+		assertThat(sources).hasSize(2);
+		for (PropertySource<?> source : sources) {
+			assertThat(source.getProperty("a")).isIn("1", 1);
+			assertThat(OriginLookup.getOrigin(source, "a")).isNull();
+			assertThat(((Map<?, ?>) source.getSource()).values())
+					.noneMatch(OriginTrackedValue.class::isInstance);
+		}
+		PropertySource<?> tracked = new PropertiesPropertySourceLoader()
+				.load("properties", properties, true).get(0);
+		assertThat(tracked.getProperty("a")).isEqualTo("1");
+		assertThat(OriginLookup.getOrigin(tracked, "a")).isNotNull();
+	}
+
+	private String getLocation(CompactOriginTrackedMap map, String key) {
+		return ((TextResourceOrigin) map.getOrigin(key)).getLocation().toString();
+	}
+
+	private Resource resource(String content) {
+		return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.env;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.Test;
+
+import org.springframework.boot.origin.Origin;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.boot.origin.TextResourceOrigin;
+import org.springframework.core.io.ByteArrayResource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Tests for {@link OriginTrackedPropertiesLoader}.
+ *
+ * @author roc
+ */
+public class OriginTrackedPropertiesLoaderTests {
+
+	private static final byte[] CONTENT = bytes("# comment\n", "! bang comment\n",
+			"plain=value\n", "colon:value\n", "spaced = value with spaces  \n",
+			"whitespace value\n", "escaped\\ key\\=\\:=a\\tb\\nc\\\\d\n",
+			"unicode=\\u00e9\\u4e2d\n", "continued=first \\\n", "    second \\\n",
+			"  third\n", "high=éÿ\n", "  indented=x\n", "empty=\n",
+			"crlf=a\r\n", "cr=b\r", "tail=end");
+
+	@Test
+	public void loadShouldReturnSameValuesAsProperties() throws IOException {
+		Map<String, Object> loaded = load(CONTENT, false);
+		Properties properties = new Properties();
+		properties.load(new ByteArrayInputStream(CONTENT));
+		assertThat(loaded).isEqualTo(properties);
+		assertThat(loaded.keySet()).containsExactly("plain", "colon", "spaced",
+				"whitespace", "escaped key=:", "unicode", "continued", "high",
+				"indented", "empty", "crlf", "cr", "tail");
+	}
+
+	@Test
+	public void loadShouldReturnValuesAndOrigins() throws IOException {
+		Map<String, String> expected = new LinkedHashMap<>();
+		expected.put("plain", "value @ 3:7");
+		expected.put("colon", "value @ 4:7");
+		expected.put("spaced", "value with spaces   @ 5:10");
+		expected.put("whitespace", "value @ 6:12");
+		// Escape sequences count as a single column
+		expected.put("escaped key=:", "a\tb\nc\\d @ 7:15");
+		expected.put("unicode", "é中 @ 8:9");
+		expected.put("continued", "first second third @ 9:11");
+		expected.put("high", "éÿ @ 12:6");
+		expected.put("indented", "x @ 13:12");
+		// An empty value is located after the line break that ends it
+		expected.put("empty", " @ 15:0");
+		expected.put("crlf", "a @ 15:6");
+		expected.put("cr", "b @ 16:4");
+		expected.put("tail", "end @ 17:6");
+		assertThat(describe(load(CONTENT, true))).isEqualTo(expected);
+	}
+
+	@Test
+	public void loadWhenListShortcutShouldExpandList() throws IOException {
+		Map<String, Object> loaded = load(bytes("list[]=a,b,\\\n  c\n"), true);
+		assertThat(describe(loaded)).containsExactly(entry("list[0]", "a @ 1:8"),
+				entry("list[1]", "b @ 1:10"), entry("list[2]", "c @ 2:3"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void loadWhenOriginsNotTrackedShouldReturnValuesWithoutOrigins()
+			throws IOException {
+		Map<String, Object> loaded = load(CONTENT, false);
+		assertThat(loaded).isEqualTo(load(CONTENT, true));
+		assertThat(((OriginLookup<String>) loaded).getOrigin("plain")).isNull();
+	}
+
+	private Map<String, Object> load(byte[] content, boolean trackOrigins)
+			throws IOException {
+		return new OriginTrackedPropertiesLoader(new ByteArrayResource(content),
+				trackOrigins).load();
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, String> describe(Map<String, Object> loaded) {
+		Map<String, String> result = new LinkedHashMap<>();
+		loaded.forEach((key, value) -> {
+			Origin origin = ((OriginLookup<String>) loaded).getOrigin(key);
+			result.put(key,
+					value + " @ " + ((TextResourceOrigin) origin).getLocation());
+		});
+		return result;
+	}
+
+	private static byte[] bytes(String... lines) {
+		return String.join("", Arrays.asList(lines))
+				.getBytes(StandardCharsets.ISO_8859_1);
+	}
+
+}
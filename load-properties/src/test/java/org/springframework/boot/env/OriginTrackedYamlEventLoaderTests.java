@@ -0,0 +1,158 @@
+/*
+ * Copyright 2012-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.env;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.springframework.boot.origin.Origin;
+import org.springframework.boot.origin.OriginLookup;
+import org.springframework.boot.origin.OriginTrackedValue;
+import org.springframework.boot.origin.TextResourceOrigin;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Tests for {@link OriginTrackedYamlEventLoader}. Every document is also compared with
+ * the result of {@link OriginTrackedYamlLoader}.
+ *
+ * @author roc
+ */
+public class OriginTrackedYamlEventLoaderTests {
+
+	@Test
+	public void loadWhenMultipleDocumentsShouldReturnEachDocument() throws IOException {
+		List<Map<String, String>> documents = load("a: 1\n", "---\n", "b: two\n",
+				"---\n", "spring:\n", "  profiles: dev\n", "c: true\n");
+		assertThat(documents).hasSize(3);
+		assertThat(documents.get(0)).containsExactly(entry("a", "Integer 1 @ 1:4"));
+		assertThat(documents.get(1)).containsExactly(entry("b", "String two @ 3:4"));
+		assertThat(documents.get(2)).containsExactly(
+				entry("spring.profiles", "String dev @ 6:13"),
+				entry("c", "Boolean true @ 7:4"));
+	}
+
+	@Test
+	public void loadWhenNullOrEmptyDocumentsShouldReturnEmptyDocumentValue()
+			throws IOException {
+		List<Map<String, String>> documents = load("a: 1\n", "---\n", "~\n", "---\n",
+				"---\n", "b: 2\n");
+		assertThat(documents).hasSize(4);
+		assertThat(documents.get(0)).containsOnlyKeys("a");
+		assertThat(documents.get(1)).containsExactly(entry("document", "String  @ 3:1"));
+		assertThat(documents.get(2)).containsExactly(entry("document", "String  @ 5:1"));
+		assertThat(documents.get(3)).containsExactly(entry("b", "Integer 2 @ 6:4"));
+	}
+
+	@Test
+	public void loadWhenNullValuesShouldReturnEmptyStrings() throws IOException {
+		List<Map<String, String>> documents = load("a: ~\n", "b:\n", "c: null\n",
+				"d: ''\n");
+		assertThat(documents.get(0)).containsExactly(entry("a", "String  @ 1:4"),
+				entry("b", "String  @ 2:3"), entry("c", "String  @ 3:4"),
+				entry("d", "String  @ 4:4"));
+	}
+
+	@Test
+	public void loadWhenListOfMapsShouldFlattenIndexes() throws IOException {
+		List<Map<String, String>> documents = load("servers:\n", "  - name: a\n",
+				"    port: 1\n", "  - name: b\n", "    tags: [x, y]\n", "    empty: []\n");
+		assertThat(documents.get(0)).containsExactly(
+				entry("servers[0].name", "String a @ 2:11"),
+				entry("servers[0].port", "Integer 1 @ 3:11"),
+				entry("servers[1].name", "String b @ 4:11"),
+				entry("servers[1].tags[0]", "String x @ 5:12"),
+				entry("servers[1].tags[1]", "String y @ 5:15"),
+				entry("servers[1].empty", "String  @ null"));
+	}
+
+	@Test
+	public void loadWhenBinaryShouldReturnBytes() throws IOException {
+		List<Map<String, String>> documents = load("data: !!binary aGk=\n");
+		assertThat(documents.get(0))
+				.containsExactly(entry("data", "byte[] [104, 105] @ 1:7"));
+	}
+
+	@Test
+	public void loadWhenAnchorsAndAliasesShouldResolveThem() throws IOException {
+		List<Map<String, String>> documents = load("base: &base\n", "  x: 1\n",
+				"copy: *base\n", "merged:\n", "  <<: *base\n", "  y: 2\n");
+		assertThat(documents.get(0)).containsExactly(
+				entry("base.x", "Integer 1 @ 2:6"), entry("copy.x", "Integer 1 @ 2:6"),
+				entry("merged.x", "Integer 1 @ 2:6"),
+				entry("merged.y", "Integer 2 @ 6:6"));
+	}
+
+	@Test
+	public void loadWhenQuotedAndMultilineScalarsShouldTrackStartOfValue()
+			throws IOException {
+		List<Map<String, String>> documents = load("a:\n", "  b: \"quoted\"\n",
+				"  c: |\n", "    one\n", "    two\n", "  \"d.e\": plain\n");
+		assertThat(documents.get(0)).containsExactly(
+				entry("a.b", "String quoted @ 2:6"),
+				entry("a.c", "String one\ntwo\n @ 3:6"),
+				entry("a.d.e", "String plain @ 6:10"));
+	}
+
+	private List<Map<String, String>> load(String... lines) throws IOException {
+		Resource resource = new ByteArrayResource(
+				String.join("", lines).getBytes(StandardCharsets.UTF_8));
+		List<Map<String, String>> result = describe(
+				new OriginTrackedYamlEventLoader(resource).load());
+		assertThat(result)
+				.isEqualTo(describe(new OriginTrackedYamlLoader(resource).load()));
+		return result;
+	}
+
+	private List<Map<String, String>> describe(List<Map<String, Object>> documents) {
+		List<Map<String, String>> result = new ArrayList<>();
+		for (Map<String, Object> document : documents) {
+			Map<String, String> described = new LinkedHashMap<>();
+			document.forEach((key, value) -> described.put(key,
+					describe(document, key, value)));
+			result.add(described);
+		}
+		return result;
+	}
+
+	private String describe(Map<String, Object> document, String key, Object value) {
+		Origin origin;
+		if (value instanceof OriginTrackedValue) {
+			origin = ((OriginTrackedValue) value).getOrigin();
+			value = ((OriginTrackedValue) value).getValue();
+		}
+		else {
+			origin = OriginLookup.getOrigin(document, key);
+		}
+		String text = (value instanceof byte[]) ? Arrays.toString((byte[]) value)
+				: String.valueOf(value);
+		Object location = (origin != null) ? ((TextResourceOrigin) origin).getLocation()
+				: null;
+		return value.getClass().getSimpleName() + " " + text + " @ " + location;
+	}
+
+}